@@ -18,5 +18,8 @@ public class RuLeStudioWebConfig implements WebMvcConfigurer {
         registry.addConverter(new StringToRulesFormatConverter());
         registry.addConverter(new StringToMisclassificationMatrixType());
         registry.addConverter(new StringToOrderByRuleCharacteristicConverter());
+        registry.addConverter(new StringToRuleFieldConverter());
+        registry.addConverter(new StringToDominanceConesAlgorithmConverter());
+        registry.addConverter(new StringToCrossValidationRetentionTypeConverter());
     }
 }
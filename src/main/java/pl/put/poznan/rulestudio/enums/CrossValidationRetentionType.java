@@ -0,0 +1,6 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum CrossValidationRetentionType {
+    FULL,
+    SUMMARY
+}
@@ -0,0 +1,6 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum DominanceConesAlgorithm {
+    RULELEARN,
+    SORT_BASED
+}
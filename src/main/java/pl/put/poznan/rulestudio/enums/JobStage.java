@@ -0,0 +1,10 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum JobStage {
+    QUEUED,
+    UNIONS,
+    AT_LEAST,
+    AT_MOST,
+    CHARACTERISTICS,
+    FINISHED
+}
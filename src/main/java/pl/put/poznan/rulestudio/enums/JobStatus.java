@@ -0,0 +1,9 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    FINISHED,
+    FAILED,
+    CANCELLED
+}
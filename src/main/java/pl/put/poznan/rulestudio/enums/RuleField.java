@@ -0,0 +1,7 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum RuleField {
+    RULE,
+    CHARACTERISTICS,
+    COVERAGE
+}
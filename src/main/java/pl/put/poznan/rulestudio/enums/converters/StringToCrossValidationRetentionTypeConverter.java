@@ -0,0 +1,23 @@
+package pl.put.poznan.rulestudio.enums.converters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+public class StringToCrossValidationRetentionTypeConverter implements Converter<String, CrossValidationRetentionType> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringToCrossValidationRetentionTypeConverter.class);
+
+    @Override
+    public CrossValidationRetentionType convert(String source) {
+        try {
+            return CrossValidationRetentionType.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given type of cross-validation retention \"%s\" is unrecognized.", source));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package pl.put.poznan.rulestudio.enums.converters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import pl.put.poznan.rulestudio.enums.DominanceConesAlgorithm;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+public class StringToDominanceConesAlgorithmConverter implements Converter<String, DominanceConesAlgorithm> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringToDominanceConesAlgorithmConverter.class);
+
+    @Override
+    public DominanceConesAlgorithm convert(String source) {
+        try {
+            String snake_case = source.replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2").replaceAll("([a-z0-9])([A-Z])", "$1_$2");
+            return DominanceConesAlgorithm.valueOf(snake_case.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given algorithm of dominance cones \"%s\" is unrecognized.", source));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+}
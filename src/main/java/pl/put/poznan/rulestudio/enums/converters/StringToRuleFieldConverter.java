@@ -0,0 +1,23 @@
+package pl.put.poznan.rulestudio.enums.converters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import pl.put.poznan.rulestudio.enums.RuleField;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+public class StringToRuleFieldConverter implements Converter<String, RuleField> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringToRuleFieldConverter.class);
+
+    @Override
+    public RuleField convert(String source) {
+        try {
+            return RuleField.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given field of rules \"%s\" is unrecognized.", source));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+}
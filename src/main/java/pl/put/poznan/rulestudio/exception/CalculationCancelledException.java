@@ -0,0 +1,8 @@
+package pl.put.poznan.rulestudio.exception;
+
+public class CalculationCancelledException extends RuntimeException {
+
+    public CalculationCancelledException(String message) {
+        super(message);
+    }
+}
@@ -19,7 +19,7 @@ public class ClassificationSerializer extends JsonSerializer<Classification> {
 
     private static final Logger logger = LoggerFactory.getLogger(ClassificationSerializer.class);
 
-    private void serializeDecisionArray(Decision[] decisions, JsonGenerator jsonGenerator) throws IOException {
+    static void serializeDecisionArray(Decision[] decisions, JsonGenerator jsonGenerator) throws IOException {
         jsonGenerator.writeStartArray();
 
         for(Decision decision : decisions) {
@@ -56,7 +56,7 @@ public class ClassificationSerializer extends JsonSerializer<Classification> {
         serializeDecisionArray(classification.getOrderOfDecisions(), jsonGenerator);
 
         jsonGenerator.writeFieldName("indicesOfCoveringRules");
-        jsonGenerator.writeRawValue(mapper.writeValueAsString(classification.getIndicesOfCoveringRules()));
+        serializerProvider.defaultSerializeValue(classification.getIndicesOfCoveringRules(), jsonGenerator);
 
         jsonGenerator.writeFieldName("ordinalMisclassificationMatrix");
         OrdinalMisclassificationMatrixSerializer.serializeMatrix(classification.getOrdinalMisclassificationMatrix(), classification.getOrderOfDecisions(), jsonGenerator);
@@ -0,0 +1,63 @@
+package pl.put.poznan.rulestudio.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jackson.JsonComponent;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.model.Classification;
+import pl.put.poznan.rulestudio.model.ClassifiersComparison;
+
+import java.io.IOException;
+import java.util.Map;
+
+@JsonComponent
+public class ClassifiersComparisonSerializer extends JsonSerializer<ClassifiersComparison> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassifiersComparisonSerializer.class);
+
+    @Override
+    public void serialize(ClassifiersComparison classifiersComparison, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        logger.debug("Serialization of ClassifiersComparison of {} classifiers", classifiersComparison.getClassifications().size());
+
+        jsonGenerator.writeStartObject();
+
+        jsonGenerator.writeFieldName("informationTable");
+        serializerProvider.defaultSerializeValue(classifiersComparison.getInformationTable(), jsonGenerator);
+
+        jsonGenerator.writeFieldName("originalDecisions");
+        ClassificationSerializer.serializeDecisionArray(classifiersComparison.getInformationTable().getDecisions(), jsonGenerator);
+
+        jsonGenerator.writeFieldName("decisionsDomain");
+        ClassificationSerializer.serializeDecisionArray(classifiersComparison.getOrderOfDecisions(), jsonGenerator);
+
+        jsonGenerator.writeFieldName("classifications");
+        jsonGenerator.writeStartObject();
+        for(Map.Entry<ClassifierType, Classification> entry : classifiersComparison.getClassifications().entrySet()) {
+            Classification classification = entry.getValue();
+            jsonGenerator.writeFieldName(entry.getKey().toString());
+            jsonGenerator.writeStartObject();
+
+            jsonGenerator.writeFieldName("classificationResults");
+            serializerProvider.defaultSerializeValue(classification.getClassificationResults(), jsonGenerator);
+
+            jsonGenerator.writeFieldName("indicesOfCoveringRules");
+            serializerProvider.defaultSerializeValue(classification.getIndicesOfCoveringRules(), jsonGenerator);
+
+            jsonGenerator.writeFieldName("ordinalMisclassificationMatrix");
+            OrdinalMisclassificationMatrixSerializer.serializeMatrix(classification.getOrdinalMisclassificationMatrix(), classification.getOrderOfDecisions(), jsonGenerator);
+
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndObject();
+
+        jsonGenerator.writeFieldName("defaultClassificationResult");
+        jsonGenerator.writeString(classifiersComparison.getDefaultClassificationResult().toString());
+
+        jsonGenerator.writeNumberField("coverageCalculationTime", classifiersComparison.getCoverageCalculationTime());
+
+        jsonGenerator.writeEndObject();
+    }
+}
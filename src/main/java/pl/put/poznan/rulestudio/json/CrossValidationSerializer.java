@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.jackson.JsonComponent;
 import pl.put.poznan.rulestudio.model.CrossValidation;
+import pl.put.poznan.rulestudio.model.CrossValidationSingleFold;
 
 import java.io.IOException;
 
@@ -32,7 +33,14 @@ public class CrossValidationSerializer extends JsonSerializer<CrossValidation> {
         jsonGenerator.writeFieldName("crossValidationSingleFolds");
         jsonGenerator.writeRawValue(mapper.writeValueAsString(crossValidation.getCrossValidationSingleFolds()));
 
-        Decision[] orderOfDecision = crossValidation.getCrossValidationSingleFolds()[0].getClassificationValidationTable().getOrderOfDecisions();
+        Decision[] orderOfDecision = crossValidation.getOrderOfDecisions();
+
+        jsonGenerator.writeFieldName("foldOrdinalMisclassificationMatrices");
+        jsonGenerator.writeStartArray();
+        for(CrossValidationSingleFold crossValidationSingleFold : crossValidation.getCrossValidationSingleFolds()) {
+            OrdinalMisclassificationMatrixSerializer.serializeMatrix(crossValidationSingleFold.getOrdinalMisclassificationMatrix(), orderOfDecision, jsonGenerator);
+        }
+        jsonGenerator.writeEndArray();
 
         jsonGenerator.writeFieldName("meanOrdinalMisclassificationMatrix");
         OrdinalMisclassificationMatrixSerializer.serializeMatrix(crossValidation.getMeanOrdinalMisclassificationMatrix(), orderOfDecision, jsonGenerator);
@@ -60,6 +68,9 @@ public class CrossValidationSerializer extends JsonSerializer<CrossValidation> {
 
         jsonGenerator.writeBooleanField("isCurrentData", crossValidation.isCurrentData());
 
+        jsonGenerator.writeFieldName("retention");
+        jsonGenerator.writeString(crossValidation.getRetention().toString());
+
         jsonGenerator.writeEndObject();
     }
 }
@@ -0,0 +1,38 @@
+package pl.put.poznan.rulestudio.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jackson.JsonComponent;
+import pl.put.poznan.rulestudio.model.DominanceConeMatrix;
+
+import java.io.IOException;
+
+@JsonComponent
+public class DominanceConeMatrixSerializer extends JsonSerializer<DominanceConeMatrix> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DominanceConeMatrixSerializer.class);
+
+    public static void serializeRow(DominanceConeMatrix dominanceConeMatrix, int x, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeStartArray();
+        IntIterator iterator = dominanceConeMatrix.iterator(x);
+        while(iterator.hasNext()) {
+            jsonGenerator.writeNumber(iterator.nextInt());
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    @Override
+    public void serialize(DominanceConeMatrix dominanceConeMatrix, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        logger.debug("Serialization of DominanceConeMatrix with {} objects", dominanceConeMatrix.getNumberOfObjects());
+
+        jsonGenerator.writeStartArray();
+        for(int x = 0; x < dominanceConeMatrix.getNumberOfObjects(); x++) {
+            serializeRow(dominanceConeMatrix, x, jsonGenerator);
+        }
+        jsonGenerator.writeEndArray();
+    }
+}
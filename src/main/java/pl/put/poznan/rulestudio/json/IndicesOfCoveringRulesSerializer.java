@@ -0,0 +1,32 @@
+package pl.put.poznan.rulestudio.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jackson.JsonComponent;
+import pl.put.poznan.rulestudio.model.IndicesOfCoveringRules;
+
+import java.io.IOException;
+
+@JsonComponent
+public class IndicesOfCoveringRulesSerializer extends JsonSerializer<IndicesOfCoveringRules> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicesOfCoveringRulesSerializer.class);
+
+    @Override
+    public void serialize(IndicesOfCoveringRules indicesOfCoveringRules, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        logger.debug("Serialization of IndicesOfCoveringRules with {} objects", indicesOfCoveringRules.getNumberOfObjects());
+
+        jsonGenerator.writeStartArray();
+        for(int objectIndex = 0; objectIndex < indicesOfCoveringRules.getNumberOfObjects(); objectIndex++) {
+            jsonGenerator.writeStartArray();
+            for(int i = 0; i < indicesOfCoveringRules.getNumberOfCoveringRules(objectIndex); i++) {
+                jsonGenerator.writeNumber(indicesOfCoveringRules.getRuleIndex(objectIndex, i));
+            }
+            jsonGenerator.writeEndArray();
+        }
+        jsonGenerator.writeEndArray();
+    }
+}
@@ -2,7 +2,6 @@ package pl.put.poznan.rulestudio.json;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntSet;
@@ -10,60 +9,85 @@ import org.rulelearn.rules.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.jackson.JsonComponent;
+import pl.put.poznan.rulestudio.enums.RuleField;
 
 import java.io.IOException;
+import java.util.EnumSet;
 
 @JsonComponent
 public class RuleSetWithCharacteristicsSerializer extends JsonSerializer<RuleSetWithCharacteristics> {
 
     private static final Logger logger = LoggerFactory.getLogger(RuleSetWithCharacteristicsSerializer.class);
 
-    @Override
-    public void serialize(RuleSetWithCharacteristics ruleSetWithCharacteristics, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
-        logger.debug("Serialization of RuleSetWithCharacteristics:\t{}", ruleSetWithCharacteristics);
-
-        ObjectMapper mapper = (ObjectMapper) jsonGenerator.getCodec();
-
-        jsonGenerator.writeStartArray();
-        for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
-            jsonGenerator.writeStartObject();
+    private static void serializeRule(RuleSetWithCharacteristics ruleSetWithCharacteristics, int ruleIndex, EnumSet<RuleField> fields, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeStartObject();
 
+        if(fields.contains(RuleField.RULE)) {
             jsonGenerator.writeFieldName("rule");
-            jsonGenerator.writeRawValue(mapper.writeValueAsString(ruleSetWithCharacteristics.getRule(i)));
+            serializerProvider.defaultSerializeValue(ruleSetWithCharacteristics.getRule(ruleIndex), jsonGenerator);
+        }
 
 
-            RuleCharacteristics ruleCharacteristics = ruleSetWithCharacteristics.getRuleCharacteristics(i);
+        RuleCharacteristics ruleCharacteristics = ruleSetWithCharacteristics.getRuleCharacteristics(ruleIndex);
 
+        if(fields.contains(RuleField.CHARACTERISTICS)) {
             jsonGenerator.writeFieldName("ruleCharacteristics");
-            jsonGenerator.writeRawValue(mapper.writeValueAsString(ruleCharacteristics));
+            serializerProvider.defaultSerializeValue(ruleCharacteristics, jsonGenerator);
+        }
 
 
-            BasicRuleCoverageInformation basicRuleCoverageInformation = ruleCharacteristics.getRuleCoverageInformation();
-            if(basicRuleCoverageInformation != null) {
-                IntList indicesOfCoveredObjects = basicRuleCoverageInformation.getIndicesOfCoveredObjects();
-                IntSet indicesOfCoveredNotSupportingObjects = basicRuleCoverageInformation.getIndicesOfCoveredNotSupportingObjects();
+        BasicRuleCoverageInformation basicRuleCoverageInformation = ruleCharacteristics.getRuleCoverageInformation();
+        if((fields.contains(RuleField.COVERAGE)) && (basicRuleCoverageInformation != null)) {
+            IntList indicesOfCoveredObjects = basicRuleCoverageInformation.getIndicesOfCoveredObjects();
+            IntSet indicesOfCoveredNotSupportingObjects = basicRuleCoverageInformation.getIndicesOfCoveredNotSupportingObjects();
 
-                jsonGenerator.writeFieldName("indicesOfCoveredObjects");
-                jsonGenerator.writeRawValue(mapper.writeValueAsString(indicesOfCoveredObjects));
+            int numberOfCoveredObjects = indicesOfCoveredObjects.size();
 
-                int numberOfCoveredObjects = indicesOfCoveredObjects.size();
-                boolean[] isSupportingObject = new boolean[numberOfCoveredObjects];
-                for(int j = 0; j < numberOfCoveredObjects; j++) {
-                    if(indicesOfCoveredNotSupportingObjects.contains( indicesOfCoveredObjects.getInt(j) )) {
-                        isSupportingObject[j] = false;
-                    } else {
-                        isSupportingObject[j] = true;
-                    }
-                }
+            jsonGenerator.writeArrayFieldStart("indicesOfCoveredObjects");
+            for(int j = 0; j < numberOfCoveredObjects; j++) {
+                jsonGenerator.writeNumber(indicesOfCoveredObjects.getInt(j));
+            }
+            jsonGenerator.writeEndArray();
 
-                jsonGenerator.writeFieldName("isSupportingObject");
-                jsonGenerator.writeRawValue(mapper.writeValueAsString(isSupportingObject));
+            jsonGenerator.writeArrayFieldStart("isSupportingObject");
+            for(int j = 0; j < numberOfCoveredObjects; j++) {
+                jsonGenerator.writeBoolean(!indicesOfCoveredNotSupportingObjects.contains( indicesOfCoveredObjects.getInt(j) ));
             }
+            jsonGenerator.writeEndArray();
+        }
+
 
+        jsonGenerator.writeEndObject();
+    }
 
-            jsonGenerator.writeEndObject();
+    /**
+     * Writes chosen rules straight to the generator.
+     *
+     * @param ruleIndices indices of rules to be written in given order or null, if all rules should be written in their original order
+     * @param fields fields of each rule to be written or null, if all fields should be written
+     */
+    public static void serializeRules(RuleSetWithCharacteristics ruleSetWithCharacteristics, int[] ruleIndices, EnumSet<RuleField> fields, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        if(fields == null) {
+            fields = EnumSet.allOf(RuleField.class);
         }
 
+        jsonGenerator.writeStartArray();
+        if(ruleIndices == null) {
+            for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
+                serializeRule(ruleSetWithCharacteristics, i, fields, jsonGenerator, serializerProvider);
+            }
+        } else {
+            for(int ruleIndex : ruleIndices) {
+                serializeRule(ruleSetWithCharacteristics, ruleIndex, fields, jsonGenerator, serializerProvider);
+            }
+        }
         jsonGenerator.writeEndArray();
     }
+
+    @Override
+    public void serialize(RuleSetWithCharacteristics ruleSetWithCharacteristics, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        logger.debug("Serialization of RuleSetWithCharacteristics:\t{}", ruleSetWithCharacteristics);
+
+        serializeRules(ruleSetWithCharacteristics, null, null, jsonGenerator, serializerProvider);
+    }
 }
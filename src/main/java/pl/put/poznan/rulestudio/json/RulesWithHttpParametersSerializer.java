@@ -2,7 +2,6 @@ package pl.put.poznan.rulestudio.json;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,12 +19,20 @@ public class RulesWithHttpParametersSerializer extends JsonSerializer<RulesWithH
     public void serialize(RulesWithHttpParameters rulesWithHttpParameters, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
         logger.debug("Serialization of RulesWithHttpParameters:\t{}", rulesWithHttpParameters);
 
-        ObjectMapper mapper = (ObjectMapper) jsonGenerator.getCodec();
-
         jsonGenerator.writeStartObject();
 
         jsonGenerator.writeFieldName("ruleSet");
-        jsonGenerator.writeRawValue(mapper.writeValueAsString(rulesWithHttpParameters.getRuleSet()));
+        RuleSetWithCharacteristicsSerializer.serializeRules(rulesWithHttpParameters.getRuleSet(), rulesWithHttpParameters.getRuleIndices(), rulesWithHttpParameters.getFields(), jsonGenerator, serializerProvider);
+
+        if(rulesWithHttpParameters.getNumberOfSelectedRules() != null) {
+            jsonGenerator.writeArrayFieldStart("ruleIndices");
+            for(int ruleIndex : rulesWithHttpParameters.getRuleIndices()) {
+                jsonGenerator.writeNumber(ruleIndex);
+            }
+            jsonGenerator.writeEndArray();
+
+            jsonGenerator.writeNumberField("numberOfRules", rulesWithHttpParameters.getNumberOfSelectedRules());
+        }
 
         if(rulesWithHttpParameters.getTypeOfUnions() != null) {
             jsonGenerator.writeFieldName("typeOfUnions");
@@ -60,7 +67,7 @@ public class RulesWithHttpParametersSerializer extends JsonSerializer<RulesWithH
 
         if(rulesWithHttpParameters.getValidityRulesContainer() != null) {
             jsonGenerator.writeFieldName("validateCurrentData");
-            jsonGenerator.writeRawValue(mapper.writeValueAsString(rulesWithHttpParameters.getValidityRulesContainer()));
+            serializerProvider.defaultSerializeValue(rulesWithHttpParameters.getValidityRulesContainer(), jsonGenerator);
         }
 
         jsonGenerator.writeEndObject();
@@ -0,0 +1,73 @@
+package pl.put.poznan.rulestudio.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Snapshot of counters of one of the caches shared by all projects, returned instead of the cache itself.
+ * Weight and evictions are given only by caches which track them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheStatistics {
+    private final int numberOfEntries;
+    private final int maxNumberOfEntries;
+    private final Long weight;
+    private final Long maxWeight;
+    private final long hits;
+    private final long misses;
+    private final Long evictions;
+
+    public CacheStatistics(int numberOfEntries, int maxNumberOfEntries, Long weight, Long maxWeight, long hits, long misses, Long evictions) {
+        this.numberOfEntries = numberOfEntries;
+        this.maxNumberOfEntries = maxNumberOfEntries;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public int getNumberOfEntries() {
+        return numberOfEntries;
+    }
+
+    public int getMaxNumberOfEntries() {
+        return maxNumberOfEntries;
+    }
+
+    public Long getWeight() {
+        return weight;
+    }
+
+    public Long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public Long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRatio() {
+        return (hits + misses == 0) ? 0.0 : (double)hits / (hits + misses);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "numberOfEntries=" + numberOfEntries +
+                ", maxNumberOfEntries=" + maxNumberOfEntries +
+                ", weight=" + weight +
+                ", maxWeight=" + maxWeight +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
@@ -0,0 +1,214 @@
+package pl.put.poznan.rulestudio.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import pl.put.poznan.rulestudio.enums.JobStage;
+import pl.put.poznan.rulestudio.enums.JobStatus;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+/**
+ * Calculation run in the background. Calculation reports its progress through {@link #startStage(JobStage)}, {@link #endStage(JobStage)} and {@link #completeStep()}.
+ * Stages of calculations run in parallel, e.g. inductions of rules, can be active at the same time, so all active stages are reported and the single stage
+ * only when there is exactly one. Cancellation is checked when a stage starts, so it takes effect at boundaries of stages: stages already running in parallel
+ * are completed before the job is cancelled.
+ */
+public class CalculationJob {
+    private UUID id;
+    private UUID projectId;
+    private String typeOfJob;
+    private volatile JobStatus status;
+    private final Map<JobStage, Integer> activeStages;
+    private int completedSteps;
+    private int numberOfSteps;
+    private long submissionTime;
+    private volatile Long startTime;
+    private volatile Long finishTime;
+    private volatile String errorMessage;
+    private volatile boolean cancelRequested;
+    private Future<?> future;
+
+    public CalculationJob(UUID projectId, String typeOfJob) {
+        this.id = UUID.randomUUID();
+        this.projectId = projectId;
+        this.typeOfJob = typeOfJob;
+        this.status = JobStatus.QUEUED;
+        this.activeStages = new EnumMap<>(JobStage.class);
+        this.activeStages.put(JobStage.QUEUED, 1);
+        this.completedSteps = 0;
+        this.numberOfSteps = 1;
+        this.submissionTime = System.currentTimeMillis();
+        this.cancelRequested = false;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public String getTypeOfJob() {
+        return typeOfJob;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the only active stage or null, if there are several active stages or none
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public synchronized JobStage getStage() {
+        return (activeStages.size() == 1) ? activeStages.keySet().iterator().next() : null;
+    }
+
+    public synchronized Set<JobStage> getActiveStages() {
+        return activeStages.isEmpty() ? EnumSet.noneOf(JobStage.class) : EnumSet.copyOf(activeStages.keySet());
+    }
+
+    public synchronized int getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public synchronized int getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    public synchronized double getProgress() {
+        return Math.min(1.0, (double)completedSteps / numberOfSteps);
+    }
+
+    public long getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public long getElapsedTime() {
+        if(startTime == null) {
+            return 0;
+        }
+        return ((finishTime == null) ? System.currentTimeMillis() : finishTime) - startTime;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @JsonIgnore
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return (status == JobStatus.FINISHED) || (status == JobStatus.FAILED) || (status == JobStatus.CANCELLED);
+    }
+
+    /**
+     * @return time when the job was done or null, if it isn't done yet
+     */
+    @JsonIgnore
+    public Long getFinishTime() {
+        return finishTime;
+    }
+
+    @JsonIgnore
+    public Future<?> getFuture() {
+        return future;
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public synchronized void addSteps(int numberOfSteps) {
+        this.numberOfSteps += numberOfSteps;
+    }
+
+    public void start() {
+        this.startTime = System.currentTimeMillis();
+        this.status = JobStatus.RUNNING;
+        endStage(JobStage.QUEUED);
+        checkIfCancelled();
+    }
+
+    /**
+     * Adds given stage to active stages, unless the job was cancelled. The same stage can be started by several calculations at once,
+     * it stays active until each of them ends it.
+     */
+    public void startStage(JobStage stage) {
+        checkIfCancelled();
+        synchronized (this) {
+            activeStages.merge(stage, 1, Integer::sum);
+        }
+    }
+
+    public synchronized void endStage(JobStage stage) {
+        activeStages.computeIfPresent(stage, (activeStage, count) -> (count > 1) ? count - 1 : null);
+    }
+
+    public synchronized void completeStep() {
+        this.completedSteps++;
+    }
+
+    public void finish() {
+        synchronized (this) {
+            this.completedSteps = this.numberOfSteps;
+            this.activeStages.clear();
+            this.activeStages.put(JobStage.FINISHED, 1);
+        }
+        this.finishTime = System.currentTimeMillis();
+        this.status = JobStatus.FINISHED;
+    }
+
+    public void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishTime = System.currentTimeMillis();
+        this.status = JobStatus.FAILED;
+    }
+
+    public void cancel() {
+        this.cancelRequested = true;
+        if((status == JobStatus.QUEUED) && (future != null) && (future.cancel(false))) {
+            markAsCancelled();
+        }
+    }
+
+    public void markAsCancelled() {
+        this.finishTime = System.currentTimeMillis();
+        this.status = JobStatus.CANCELLED;
+    }
+
+    public void checkIfCancelled() {
+        if(cancelRequested) {
+            throw new CalculationCancelledException(String.format("Job \"%s\" has been cancelled.", id));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CalculationJob{" +
+                "id=" + id +
+                ", projectId=" + projectId +
+                ", typeOfJob='" + typeOfJob + '\'' +
+                ", status=" + status +
+                ", activeStages=" + getActiveStages() +
+                ", completedSteps=" + completedSteps +
+                ", numberOfSteps=" + numberOfSteps +
+                ", submissionTime=" + submissionTime +
+                ", startTime=" + startTime +
+                ", finishTime=" + finishTime +
+                ", errorMessage='" + errorMessage + '\'' +
+                ", cancelRequested=" + cancelRequested +
+                '}';
+    }
+}
@@ -14,6 +14,8 @@ public class Classification {
     private ClassificationResult[] classificationResults;
     private InformationTable informationTable;
     private Decision[] orderOfDecisions;
+    private IndicesOfCoveringRules coveringRules;
+    //only read from projects exported before indices of covering rules were kept in compressed form, see readResolve
     private IntList[] indicesOfCoveringRules;
     private OrdinalMisclassificationMatrix ordinalMisclassificationMatrix;
     private ClassifierType typeOfClassifier;
@@ -31,19 +33,19 @@ public class Classification {
         this.informationTable = informationTable;
     }
 
-    public Classification(ClassificationResult[] classificationResults, InformationTable informationTable, Decision[] orderOfDecisions, IntList[] indicesOfCoveringRules, OrdinalMisclassificationMatrix ordinalMisclassificationMatrix) {
+    public Classification(ClassificationResult[] classificationResults, InformationTable informationTable, Decision[] orderOfDecisions, IndicesOfCoveringRules indicesOfCoveringRules, OrdinalMisclassificationMatrix ordinalMisclassificationMatrix) {
         this.classificationResults = classificationResults;
         this.informationTable = informationTable;
         this.orderOfDecisions = orderOfDecisions;
-        this.indicesOfCoveringRules = indicesOfCoveringRules;
+        this.coveringRules = indicesOfCoveringRules;
         this.ordinalMisclassificationMatrix = ordinalMisclassificationMatrix;
     }
 
-    public Classification(ClassificationResult[] classificationResults, InformationTable informationTable, Decision[] orderOfDecisions, IntList[] indicesOfCoveringRules, OrdinalMisclassificationMatrix ordinalMisclassificationMatrix, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, String learningDataHash, String ruleSetHash) {
+    public Classification(ClassificationResult[] classificationResults, InformationTable informationTable, Decision[] orderOfDecisions, IndicesOfCoveringRules indicesOfCoveringRules, OrdinalMisclassificationMatrix ordinalMisclassificationMatrix, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, String learningDataHash, String ruleSetHash) {
         this.classificationResults = classificationResults;
         this.informationTable = informationTable;
         this.orderOfDecisions = orderOfDecisions;
-        this.indicesOfCoveringRules = indicesOfCoveringRules;
+        this.coveringRules = indicesOfCoveringRules;
         this.ordinalMisclassificationMatrix = ordinalMisclassificationMatrix;
         this.typeOfClassifier = typeOfClassifier;
         this.defaultClassificationResult = defaultClassificationResult;
@@ -80,12 +82,12 @@ public class Classification {
         this.orderOfDecisions = orderOfDecisions;
     }
 
-    public IntList[] getIndicesOfCoveringRules() {
-        return indicesOfCoveringRules;
+    public IndicesOfCoveringRules getIndicesOfCoveringRules() {
+        return coveringRules;
     }
 
-    public void setIndicesOfCoveringRules(IntList[] indicesOfCoveringRules) {
-        this.indicesOfCoveringRules = indicesOfCoveringRules;
+    public void setIndicesOfCoveringRules(IndicesOfCoveringRules indicesOfCoveringRules) {
+        this.coveringRules = indicesOfCoveringRules;
     }
 
     public OrdinalMisclassificationMatrix getOrdinalMisclassificationMatrix() {
@@ -168,13 +170,21 @@ public class Classification {
         isCrossValidation = crossValidation;
     }
 
+    private Object readResolve() {
+        if((coveringRules == null) && (indicesOfCoveringRules != null)) {
+            coveringRules = IndicesOfCoveringRules.fromLists(indicesOfCoveringRules);
+            indicesOfCoveringRules = null;
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Classification{" +
                 "classificationResults=" + Arrays.toString(classificationResults) +
                 ", informationTable=" + informationTable +
                 ", orderOfDecisions=" + Arrays.toString(orderOfDecisions) +
-                ", indicesOfCoveringRules=" + Arrays.toString(indicesOfCoveringRules) +
+                ", indicesOfCoveringRules=" + coveringRules +
                 ", ordinalMisclassificationMatrix=" + ordinalMisclassificationMatrix +
                 ", typeOfClassifier=" + typeOfClassifier +
                 ", defaultClassificationResult=" + defaultClassificationResult +
@@ -0,0 +1,119 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.classification.RuleClassifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Classifiers prepared on learning data, kept for all projects.
+ * Classifier is identified by the hash of its rule set, the hash of the learning data and its parameters, so default classification result
+ * and everything the classifier calculates on the learning data is prepared once for consecutive classifications with the same model.
+ * Rules of cached classifiers come from {@link SharedCoverage} of their rule set, kept here as well, so the rule condition index is built once
+ * and each classification only registers covering rules of its own objects.
+ */
+@Component
+public class ClassifierCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassifierCache.class);
+
+    /**
+     * Key of a classifier. Shared coverage is compared by identity, so classifiers created for shared coverage that was evicted in the meantime aren't found
+     * and are evicted in turn.
+     */
+    private static final class ClassifierKey {
+        private final SharedCoverage sharedCoverage;
+        private final String ruleSetHash;
+        private final String learningDataHash;
+        private final ClassifierType typeOfClassifier;
+        private final DefaultClassificationResultType typeOfDefaultClassificationResult;
+
+        ClassifierKey(SharedCoverage sharedCoverage, String ruleSetHash, String learningDataHash, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult) {
+            this.sharedCoverage = sharedCoverage;
+            this.ruleSetHash = ruleSetHash;
+            this.learningDataHash = learningDataHash;
+            this.typeOfClassifier = typeOfClassifier;
+            this.typeOfDefaultClassificationResult = typeOfDefaultClassificationResult;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ClassifierKey that = (ClassifierKey) o;
+            return sharedCoverage == that.sharedCoverage &&
+                    ruleSetHash.equals(that.ruleSetHash) &&
+                    learningDataHash.equals(that.learningDataHash) &&
+                    typeOfClassifier == that.typeOfClassifier &&
+                    typeOfDefaultClassificationResult == that.typeOfDefaultClassificationResult;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(sharedCoverage), ruleSetHash, learningDataHash, typeOfClassifier, typeOfDefaultClassificationResult);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassifierKey{" +
+                    "ruleSetHash='" + ruleSetHash + '\'' +
+                    ", learningDataHash='" + learningDataHash + '\'' +
+                    ", typeOfClassifier=" + typeOfClassifier +
+                    ", typeOfDefaultClassificationResult=" + typeOfDefaultClassificationResult +
+                    '}';
+        }
+    }
+
+    private final LeastRecentlyUsedCache<ClassifierKey, RuleClassifier> cache;
+    private final LeastRecentlyUsedCache<String, SharedCoverage> sharedCoverages;
+
+    public ClassifierCache(@Value("${rulestudio.cache.classifiers.max-entries:16}") int maxNumberOfEntries) {
+        this.cache = new LeastRecentlyUsedCache<>("classifier", maxNumberOfEntries);
+        this.sharedCoverages = new LeastRecentlyUsedCache<>("shared coverage", maxNumberOfEntries);
+
+        logger.info("Classifier cache:\tmaxNumberOfEntries={}", cache.getMaxNumberOfEntries());
+    }
+
+    /**
+     * Returns cached classifier with given parameters, prepared for rules of given shared coverage and learning data with given hash. If there is no such classifier,
+     * it is created by given supplier and added to the cache.
+     */
+    public RuleClassifier getOrCreate(SharedCoverage sharedCoverage, String learningDataHash, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, Supplier<RuleClassifier> creation) {
+        ClassifierKey key = new ClassifierKey(sharedCoverage, sharedCoverage.getOriginalRuleSet().getHash(), learningDataHash, typeOfClassifier, typeOfDefaultClassificationResult);
+        return cache.getOrCalculate(key, creation);
+    }
+
+    /**
+     * Returns cached shared coverage of the rule set with given hash. If there is no such shared coverage, it is created by given supplier and added to the cache.
+     */
+    public SharedCoverage getOrCreateSharedCoverage(String ruleSetHash, Supplier<SharedCoverage> creation) {
+        return sharedCoverages.getOrCalculate(ruleSetHash, creation);
+    }
+
+    public void clear() {
+        cache.clear();
+        sharedCoverages.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public CacheStatistics getSharedCoverageStatistics() {
+        return sharedCoverages.getStatistics();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassifierCache{" +
+                "cache=" + cache +
+                ", sharedCoverages=" + sharedCoverages +
+                '}';
+    }
+}
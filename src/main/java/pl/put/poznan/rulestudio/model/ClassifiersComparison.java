@@ -0,0 +1,66 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+
+/**
+ * Classifications of the same objects by classifiers of different types, which share covering rules of objects calculated once.
+ */
+public class ClassifiersComparison {
+    private InformationTable informationTable;
+    private Decision[] orderOfDecisions;
+    private EnumMap<ClassifierType, Classification> classifications;
+    private DefaultClassificationResultType defaultClassificationResult;
+    private long coverageCalculationTime;
+
+    public ClassifiersComparison(InformationTable informationTable, Decision[] orderOfDecisions, DefaultClassificationResultType defaultClassificationResult, long coverageCalculationTime) {
+        this.informationTable = informationTable;
+        this.orderOfDecisions = orderOfDecisions;
+        this.classifications = new EnumMap<>(ClassifierType.class);
+        this.defaultClassificationResult = defaultClassificationResult;
+        this.coverageCalculationTime = coverageCalculationTime;
+    }
+
+    public InformationTable getInformationTable() {
+        return informationTable;
+    }
+
+    public Decision[] getOrderOfDecisions() {
+        return orderOfDecisions;
+    }
+
+    public EnumMap<ClassifierType, Classification> getClassifications() {
+        return classifications;
+    }
+
+    public void putClassification(ClassifierType typeOfClassifier, Classification classification) {
+        this.classifications.put(typeOfClassifier, classification);
+    }
+
+    public DefaultClassificationResultType getDefaultClassificationResult() {
+        return defaultClassificationResult;
+    }
+
+    /**
+     * @return time of calculation of rules covering each object in milliseconds
+     */
+    public long getCoverageCalculationTime() {
+        return coverageCalculationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassifiersComparison{" +
+                "informationTable=" + informationTable +
+                ", orderOfDecisions=" + Arrays.toString(orderOfDecisions) +
+                ", classifications=" + classifications +
+                ", defaultClassificationResult=" + defaultClassificationResult +
+                ", coverageCalculationTime=" + coverageCalculationTime +
+                '}';
+    }
+}
@@ -1,8 +1,10 @@
 package pl.put.poznan.rulestudio.model;
 
+import org.rulelearn.data.Decision;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.validation.OrdinalMisclassificationMatrix;
 import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
 import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.UnionType;
@@ -23,6 +25,8 @@ public class CrossValidation {
     private Long seed;
     private String dataHash;
     private Boolean isCurrentData;
+    private Decision[] orderOfDecisions;
+    private CrossValidationRetentionType retention;
 
     public CrossValidation(Integer numberOfFolds, CrossValidationSingleFold[] crossValidationSingleFolds, OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix, OrdinalMisclassificationMatrix sumOrdinalMisclassificationMatrix) {
         this.numberOfFolds = numberOfFolds;
@@ -58,6 +62,27 @@ public class CrossValidation {
         this.dataHash = dataHash;
 
         this.isCurrentData = true;
+        this.retention = CrossValidationRetentionType.FULL;
+    }
+
+    public CrossValidation(
+            Integer numberOfFolds,
+            InformationTable informationTable,
+            CrossValidationSingleFold[] crossValidationSingleFolds,
+            OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix,
+            OrdinalMisclassificationMatrix sumOrdinalMisclassificationMatrix,
+            UnionType typeOfUnions,
+            Double consistencyThreshold, RuleType typeOfRules,
+            ClassifierType typeOfClassifier,
+            DefaultClassificationResultType defaultClassificationResult,
+            Long seed,
+            String dataHash,
+            Decision[] orderOfDecisions,
+            CrossValidationRetentionType retention) {
+
+        this(numberOfFolds, informationTable, crossValidationSingleFolds, meanOrdinalMisclassificationMatrix, sumOrdinalMisclassificationMatrix, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, seed, dataHash);
+        this.orderOfDecisions = orderOfDecisions;
+        this.retention = retention;
     }
 
     public Integer getNumberOfFolds() {
@@ -164,6 +189,32 @@ public class CrossValidation {
         isCurrentData = currentData;
     }
 
+    public Decision[] getOrderOfDecisions() {
+        return orderOfDecisions;
+    }
+
+    public void setOrderOfDecisions(Decision[] orderOfDecisions) {
+        this.orderOfDecisions = orderOfDecisions;
+    }
+
+    public CrossValidationRetentionType getRetention() {
+        return retention;
+    }
+
+    public void setRetention(CrossValidationRetentionType retention) {
+        this.retention = retention;
+    }
+
+    private Object readResolve() {
+        if(retention == null) {
+            retention = CrossValidationRetentionType.FULL;
+        }
+        if((orderOfDecisions == null) && (crossValidationSingleFolds != null) && (crossValidationSingleFolds.length > 0) && (crossValidationSingleFolds[0].getClassificationValidationTable() != null)) {
+            orderOfDecisions = crossValidationSingleFolds[0].getClassificationValidationTable().getOrderOfDecisions();
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return "CrossValidation{" +
@@ -180,6 +231,8 @@ public class CrossValidation {
                 ", seed=" + seed +
                 ", dataHash='" + dataHash + '\'' +
                 ", isCurrentData=" + isCurrentData +
+                ", orderOfDecisions=" + Arrays.toString(orderOfDecisions) +
+                ", retention=" + retention +
                 '}';
     }
 }
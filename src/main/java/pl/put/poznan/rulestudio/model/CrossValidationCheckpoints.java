@@ -0,0 +1,277 @@
+package pl.put.poznan.rulestudio.model;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.security.ArrayTypePermission;
+import com.thoughtworks.xstream.security.NoTypePermission;
+import com.thoughtworks.xstream.security.NullPermission;
+import com.thoughtworks.xstream.security.PrimitiveTypePermission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Calculated folds of cross-validation written to a local directory, so a cross-validation interrupted by a restart or a dropped request
+ * can be resumed by sending the same request again. Folds of one cross-validation are kept in a subdirectory named after the hash of the data
+ * and of all parameters determining the result, and the subdirectory is removed when the whole cross-validation is calculated.
+ * Checkpoints are disabled, unless the directory is given. The directory is created accessible only to the owner, and checkpoints are disabled,
+ * if an existing directory is accessible to others, because files found there are deserialized. Deserialization is also limited to types of folds.
+ * Checkpoints older than the maximal age, left by cross-validations which were never resubmitted, are removed when the next cross-validation starts.
+ */
+@Component
+public class CrossValidationCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrossValidationCheckpoints.class);
+
+    private static final String FOLD_FILE_PREFIX = "fold-";
+    private static final String FOLD_FILE_SUFFIX = ".xml.gz";
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+    private final Path directory;
+    private final long maxAgeMillis;
+    private final XStream xStream;
+
+    public CrossValidationCheckpoints(
+            @Value("${rulestudio.checkpoints.cross-validation.directory:}") String directory,
+            @Value("${rulestudio.checkpoints.cross-validation.max-age-hours:72}") long maxAgeHours) {
+        this.directory = directory.trim().isEmpty() ? null : prepareDirectory(Paths.get(directory.trim()));
+        this.maxAgeMillis = TimeUnit.HOURS.toMillis(maxAgeHours);
+        this.xStream = createXStream();
+
+        logger.info("Cross-validation checkpoints:\tdirectory={}\tmaxAgeHours={}", this.directory, maxAgeHours);
+    }
+
+    /**
+     * @return XStream reading only types which occur in folds of cross-validation, shared by all loads and saves
+     */
+    private static XStream createXStream() {
+        XStream xStream = new XStream();
+        xStream.addPermission(NoTypePermission.NONE);
+        xStream.addPermission(NullPermission.NULL);
+        xStream.addPermission(PrimitiveTypePermission.PRIMITIVES);
+        xStream.addPermission(ArrayTypePermission.ARRAYS);
+        xStream.allowTypes(new Class[] {
+                String.class,
+                ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, TreeMap.class, HashSet.class, LinkedHashSet.class, TreeSet.class
+        });
+        xStream.allowTypesByWildcard(new String[] {
+                "pl.put.poznan.rulestudio.model.**",
+                "pl.put.poznan.rulestudio.enums.*",
+                "org.rulelearn.**",
+                "it.unimi.dsi.fastutil.**"
+        });
+        return xStream;
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * Creates the directory accessible only to the owner or checks that an existing directory isn't accessible to others.
+     *
+     * @return the directory or null, if checkpoints can't be used safely
+     */
+    private static Path prepareDirectory(Path directory) {
+        try {
+            if(Files.notExists(directory)) {
+                if(isPosix(directory)) {
+                    Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_PERMISSIONS));
+                } else {
+                    Files.createDirectories(directory);
+                }
+            }
+
+            if(isPosix(directory)) {
+                Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+                if(!OWNER_ONLY_PERMISSIONS.containsAll(permissions)) {
+                    logger.error("Directory of cross-validation checkpoints {} is accessible to other users ({}). Checkpoints are disabled.", directory, PosixFilePermissions.toString(permissions));
+                    return null;
+                }
+            }
+            return directory;
+        } catch (IOException e) {
+            logger.error("Couldn't prepare directory of cross-validation checkpoints {}:\t{}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    private FileAttribute<?>[] getOwnerOnlyAttributes(Path path) {
+        return isPosix(path) ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(OWNER_ONLY_PERMISSIONS)} : new FileAttribute<?>[0];
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * @return identifier of checkpoints of cross-validation with given data and parameters
+     */
+    public static String getKey(String dataHash, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention) {
+        String parameters = String.join("|", dataHash, String.valueOf(typeOfUnions), String.valueOf(consistencyThreshold), String.valueOf(typeOfRules),
+                String.valueOf(typeOfClassifier), String.valueOf(defaultClassificationResult), String.valueOf(numberOfFolds), String.valueOf(seed), String.valueOf(retention));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(parameters.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for(byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path getFoldPath(String key, int foldIndex) {
+        return directory.resolve(key).resolve(FOLD_FILE_PREFIX + foldIndex + FOLD_FILE_SUFFIX);
+    }
+
+    /**
+     * @return fold saved earlier or null, if there is no such fold or it can't be read
+     */
+    public CrossValidationSingleFold load(String key, int foldIndex) {
+        if(!isEnabled()) {
+            return null;
+        }
+
+        Path path = getFoldPath(key, foldIndex);
+        if(!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(path))) {
+            CrossValidationSingleFold crossValidationSingleFold = (CrossValidationSingleFold)xStream.fromXML(is);
+
+            logger.info("Fold {} of cross-validation loaded from checkpoint:\t{}", foldIndex + 1, key);
+            return crossValidationSingleFold;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Couldn't load fold {} of cross-validation from checkpoint {}:\t{}", foldIndex + 1, path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves fold to a temporary file which is then moved in place, so a fold interrupted while being written is never loaded.
+     * Failure of saving is only logged, because it doesn't affect the result of cross-validation.
+     */
+    public void save(String key, int foldIndex, CrossValidationSingleFold crossValidationSingleFold) {
+        if(!isEnabled()) {
+            return;
+        }
+
+        Path path = getFoldPath(key, foldIndex);
+        Path temporaryPath = null;
+        try {
+            Files.createDirectories(path.getParent(), getOwnerOnlyAttributes(path.getParent()));
+            temporaryPath = Files.createTempFile(path.getParent(), FOLD_FILE_PREFIX + foldIndex, ".tmp");
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(temporaryPath))) {
+                xStream.toXML(crossValidationSingleFold, os);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.info("Fold {} of cross-validation saved to checkpoint:\t{}", foldIndex + 1, key);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Couldn't save fold {} of cross-validation to checkpoint {}:\t{}", foldIndex + 1, path, e.getMessage());
+            if(temporaryPath != null) {
+                try {
+                    Files.deleteIfExists(temporaryPath);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all saved folds of cross-validation with given identifier.
+     */
+    public void delete(String key) {
+        if(!isEnabled()) {
+            return;
+        }
+
+        Path keyDirectory = directory.resolve(key);
+        if(!Files.isDirectory(keyDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(keyDirectory)) {
+            for(Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(keyDirectory);
+        } catch (IOException e) {
+            logger.error("Couldn't delete checkpoints of cross-validation {}:\t{}", keyDirectory, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes checkpoints of all cross-validations, whose last fold was saved earlier than the maximal age ago.
+     */
+    public void deleteStale() {
+        if(!isEnabled()) {
+            return;
+        }
+
+        long oldestAllowedTime = System.currentTimeMillis() - maxAgeMillis;
+        List<String> staleKeys = new ArrayList<>();
+        try (DirectoryStream<Path> keyDirectories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for(Path keyDirectory : keyDirectories) {
+                FileTime lastModifiedTime = Files.getLastModifiedTime(keyDirectory);
+                if(lastModifiedTime.toMillis() < oldestAllowedTime) {
+                    staleKeys.add(keyDirectory.getFileName().toString());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Couldn't list checkpoints of cross-validation in {}:\t{}", directory, e.getMessage());
+            return;
+        }
+
+        for(String key : staleKeys) {
+            logger.info("Deleting stale checkpoints of cross-validation:\t{}", key);
+            delete(key);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CrossValidationCheckpoints{" +
+                "directory=" + directory +
+                ", maxAgeMillis=" + maxAgeMillis +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fold of cross-validation given by indices of training and validation objects in the whole information table.
+ * Tables of the fold are read-only selections of rows of the whole table, so evaluations of objects aren't copied
+ * and indices of objects in the whole table don't have to be found by their identifiers.
+ */
+public class CrossValidationFoldView {
+    private final InformationTable informationTable;
+    private final int[] indicesOfTrainingObjects;
+    private final int[] indicesOfValidationObjects;
+
+    public CrossValidationFoldView(InformationTable informationTable, int[] indicesOfTrainingObjects, int[] indicesOfValidationObjects) {
+        this.informationTable = informationTable;
+        this.indicesOfTrainingObjects = indicesOfTrainingObjects;
+        this.indicesOfValidationObjects = indicesOfValidationObjects;
+    }
+
+    /**
+     * Splits objects of the information table into given number of folds, so that each decision is spread over folds as evenly as possible.
+     * Objects with each decision are shuffled with a generator initialized with given seed, so the same seed always gives the same folds.
+     * Indices of objects in each fold are sorted ascending.
+     */
+    public static List<CrossValidationFoldView> splitStratifiedIntoKFold(InformationTable informationTable, int numberOfFolds, long seed) {
+        Map<Decision, IntList> objectsWithDecisions = new LinkedHashMap<>();
+        for(int objectIndex = 0; objectIndex < informationTable.getNumberOfObjects(); objectIndex++) {
+            objectsWithDecisions.computeIfAbsent(informationTable.getDecision(objectIndex), decision -> new IntArrayList()).add(objectIndex);
+        }
+
+        Random random = new Random(seed);
+        int[] foldOfObject = new int[informationTable.getNumberOfObjects()];
+        int[] foldSizes = new int[numberOfFolds];
+        int nextFold = 0;
+        for(IntList objectsWithDecision : objectsWithDecisions.values()) {
+            int[] shuffled = objectsWithDecision.toIntArray();
+            for(int i = shuffled.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swapped = shuffled[i];
+                shuffled[i] = shuffled[j];
+                shuffled[j] = swapped;
+            }
+
+            //dealing continues with the fold following the last one used for the previous decision, so sizes of folds differ by at most one
+            for(int objectIndex : shuffled) {
+                foldOfObject[objectIndex] = nextFold;
+                foldSizes[nextFold]++;
+                nextFold = (nextFold + 1) % numberOfFolds;
+            }
+        }
+
+        int[][] indicesOfValidationObjects = new int[numberOfFolds][];
+        int[][] indicesOfTrainingObjects = new int[numberOfFolds][];
+        for(int fold = 0; fold < numberOfFolds; fold++) {
+            indicesOfValidationObjects[fold] = new int[foldSizes[fold]];
+            indicesOfTrainingObjects[fold] = new int[foldOfObject.length - foldSizes[fold]];
+        }
+
+        int[] validationPositions = new int[numberOfFolds];
+        int[] trainingPositions = new int[numberOfFolds];
+        for(int objectIndex = 0; objectIndex < foldOfObject.length; objectIndex++) {
+            for(int fold = 0; fold < numberOfFolds; fold++) {
+                if(foldOfObject[objectIndex] == fold) {
+                    indicesOfValidationObjects[fold][validationPositions[fold]++] = objectIndex;
+                } else {
+                    indicesOfTrainingObjects[fold][trainingPositions[fold]++] = objectIndex;
+                }
+            }
+        }
+
+        List<CrossValidationFoldView> folds = new ArrayList<>(numberOfFolds);
+        for(int fold = 0; fold < numberOfFolds; fold++) {
+            folds.add(new CrossValidationFoldView(informationTable, indicesOfTrainingObjects[fold], indicesOfValidationObjects[fold]));
+        }
+        return folds;
+    }
+
+    public int[] getIndicesOfTrainingObjects() {
+        return indicesOfTrainingObjects;
+    }
+
+    public int[] getIndicesOfValidationObjects() {
+        return indicesOfValidationObjects;
+    }
+
+    /**
+     * @return read-only table with training objects, sharing rows with the whole information table
+     */
+    public InformationTable getTrainingTable() {
+        return informationTable.select(indicesOfTrainingObjects, true);
+    }
+
+    /**
+     * @return read-only table with validation objects, sharing rows with the whole information table
+     */
+    public InformationTable getValidationTable() {
+        return informationTable.select(indicesOfValidationObjects, true);
+    }
+
+    @Override
+    public String toString() {
+        return "CrossValidationFoldView{" +
+                "indicesOfTrainingObjects=" + Arrays.toString(indicesOfTrainingObjects) +
+                ", indicesOfValidationObjects=" + Arrays.toString(indicesOfValidationObjects) +
+                '}';
+    }
+}
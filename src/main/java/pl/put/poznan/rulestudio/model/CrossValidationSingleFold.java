@@ -1,18 +1,50 @@
 package pl.put.poznan.rulestudio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
 
 public class CrossValidationSingleFold {
     private int[] indicesOfTrainingObjects;
     private int[] indicesOfValidationObjects;
     private RuLeStudioRuleSet ruLeStudioRuleSet;
     private Classification classificationValidationTable;
+    private OrdinalMisclassificationMatrix ordinalMisclassificationMatrix;
+    private Integer numberOfRules;
+    private Double averageNumberOfConditions;
 
     public CrossValidationSingleFold(int[] indicesOfTrainingObjects, int[] indicesOfValidationObjects, RuLeStudioRuleSet ruLeStudioRuleSet, Classification classificationValidationTable) {
         this.indicesOfTrainingObjects = indicesOfTrainingObjects;
         this.indicesOfValidationObjects = indicesOfValidationObjects;
         this.ruLeStudioRuleSet = ruLeStudioRuleSet;
         this.classificationValidationTable = classificationValidationTable;
+        this.ordinalMisclassificationMatrix = classificationValidationTable.getOrdinalMisclassificationMatrix();
+    }
+
+    public CrossValidationSingleFold(int[] indicesOfTrainingObjects, int[] indicesOfValidationObjects, RuLeStudioRuleSet ruLeStudioRuleSet, Classification classificationValidationTable, RuleSetWithCharacteristics ruleSetWithCharacteristics) {
+        this(indicesOfTrainingObjects, indicesOfValidationObjects, ruLeStudioRuleSet, classificationValidationTable);
+
+        int numberOfConditions = 0;
+        for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
+            numberOfConditions += ruleSetWithCharacteristics.getRule(i).getConditions().length;
+        }
+        this.numberOfRules = ruleSetWithCharacteristics.size();
+        this.averageNumberOfConditions = (numberOfRules == 0) ? 0.0 : (double)numberOfConditions / numberOfRules;
+    }
+
+    /**
+     * Drops rules and classification of validation objects, keeping only indices of objects, misclassification matrix and statistics of rules.
+     * They can be calculated again from indices of objects, because induction of rules and classification are deterministic.
+     */
+    public void dropDetails() {
+        this.ruLeStudioRuleSet = null;
+        this.classificationValidationTable = null;
+    }
+
+    @JsonIgnore
+    public boolean hasDetails() {
+        return classificationValidationTable != null;
     }
 
     public int[] getIndicesOfTrainingObjects() {
@@ -48,4 +80,31 @@ public class CrossValidationSingleFold {
     public void setClassificationValidationTable(Classification classificationValidationTable) {
         this.classificationValidationTable = classificationValidationTable;
     }
+
+    @JsonIgnore
+    public OrdinalMisclassificationMatrix getOrdinalMisclassificationMatrix() {
+        return ordinalMisclassificationMatrix;
+    }
+
+    public void setOrdinalMisclassificationMatrix(OrdinalMisclassificationMatrix ordinalMisclassificationMatrix) {
+        this.ordinalMisclassificationMatrix = ordinalMisclassificationMatrix;
+    }
+
+    public Integer getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    public Double getAverageNumberOfConditions() {
+        return averageNumberOfConditions;
+    }
+
+    private Object readResolve() {
+        if((ordinalMisclassificationMatrix == null) && (classificationValidationTable != null)) {
+            ordinalMisclassificationMatrix = classificationValidationTable.getOrdinalMisclassificationMatrix();
+        }
+        if((numberOfRules == null) && (ruLeStudioRuleSet != null)) {
+            numberOfRules = ruLeStudioRuleSet.getRuLeStudioRules().length;
+        }
+        return this;
+    }
 }
@@ -0,0 +1,86 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Decision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Ordered decision domains of classified data, kept for all projects.
+ * Domain is identified by the hash of the rule set whose decisions it contains (or no hash, if it contains only decisions from data) and the hash of the data,
+ * so it is calculated once for consecutive classifications and cross-validations of the same data.
+ */
+@Component
+public class DecisionDomainCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecisionDomainCache.class);
+
+    private static final class DecisionDomainKey {
+        private final String ruleSetHash;
+        private final String dataHash;
+
+        DecisionDomainKey(String ruleSetHash, String dataHash) {
+            this.ruleSetHash = ruleSetHash;
+            this.dataHash = dataHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DecisionDomainKey that = (DecisionDomainKey) o;
+            return Objects.equals(ruleSetHash, that.ruleSetHash) &&
+                    dataHash.equals(that.dataHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ruleSetHash, dataHash);
+        }
+
+        @Override
+        public String toString() {
+            return "DecisionDomainKey{" +
+                    "ruleSetHash='" + ruleSetHash + '\'' +
+                    ", dataHash='" + dataHash + '\'' +
+                    '}';
+        }
+    }
+
+    private final LeastRecentlyUsedCache<DecisionDomainKey, Decision[]> cache;
+
+    public DecisionDomainCache(@Value("${rulestudio.cache.decision-domains.max-entries:64}") int maxNumberOfEntries) {
+        this.cache = new LeastRecentlyUsedCache<>("decision domain", maxNumberOfEntries);
+
+        logger.info("Decision domain cache:\tmaxNumberOfEntries={}", cache.getMaxNumberOfEntries());
+    }
+
+    /**
+     * Returns copy of cached ordered decision domain of rule set and data with given hashes. If there is no such domain,
+     * it is calculated by given supplier and added to the cache.
+     *
+     * @param ruleSetHash hash of the rule set or null, if the domain contains only decisions from data
+     */
+    public Decision[] getOrCalculate(String ruleSetHash, String dataHash, Supplier<Decision[]> calculation) {
+        return cache.getOrCalculate(new DecisionDomainKey(ruleSetHash, dataHash), calculation).clone();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionDomainCache{" +
+                "cache=" + cache +
+                '}';
+    }
+}
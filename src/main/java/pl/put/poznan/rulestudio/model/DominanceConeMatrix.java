@@ -0,0 +1,216 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntIterators;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Dominance cones of all objects of one kind. Each row holds indices of objects belonging to the cone of one object.
+ * A row is kept either as a fixed-width bitset (one bit per object) or, if that takes less memory, as a sorted array of indices.
+ * Rows of different objects can be set concurrently.
+ */
+public class DominanceConeMatrix {
+    private int numberOfObjects;
+    private long[][] bitsetRows;
+    private int[][] sparseRows;
+    private int[] cardinalities;
+
+    public DominanceConeMatrix(int numberOfObjects) {
+        this.numberOfObjects = numberOfObjects;
+        this.bitsetRows = new long[numberOfObjects][];
+        this.sparseRows = new int[numberOfObjects][];
+        this.cardinalities = new int[numberOfObjects];
+    }
+
+    private static int numberOfWords(int numberOfObjects) {
+        return (numberOfObjects + 63) >>> 6;
+    }
+
+    private boolean isSparse(int cardinality) {
+        return (long)cardinality * Integer.BYTES < (long)numberOfWords(numberOfObjects) * Long.BYTES;
+    }
+
+    public int getNumberOfObjects() {
+        return numberOfObjects;
+    }
+
+    public void setRow(int x, IntSortedSet cone) {
+        int cardinality = cone.size();
+        if(isSparse(cardinality)) {
+            sparseRows[x] = cone.toIntArray();
+            bitsetRows[x] = null;
+        } else {
+            long[] bits = new long[numberOfWords(numberOfObjects)];
+            IntIterator iterator = cone.iterator();
+            while(iterator.hasNext()) {
+                int y = iterator.nextInt();
+                bits[y >>> 6] |= 1L << y;
+            }
+            bitsetRows[x] = bits;
+            sparseRows[x] = null;
+        }
+        cardinalities[x] = cardinality;
+    }
+
+    /**
+     * Sets row of given object from a bitset with one bit per object. Given array may be taken over by the matrix.
+     */
+    public void setRow(int x, long[] bits) {
+        int cardinality = 0;
+        for(long word : bits) {
+            cardinality += Long.bitCount(word);
+        }
+
+        if(isSparse(cardinality)) {
+            int[] indices = new int[cardinality];
+            int i = 0;
+            for(int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while(word != 0) {
+                    indices[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            sparseRows[x] = indices;
+            bitsetRows[x] = null;
+        } else {
+            bitsetRows[x] = bits;
+            sparseRows[x] = null;
+        }
+        cardinalities[x] = cardinality;
+    }
+
+    /**
+     * @return true, if object y belongs to the cone of object x
+     */
+    public boolean contains(int x, int y) {
+        long[] bits = bitsetRows[x];
+        if(bits != null) {
+            return (bits[y >>> 6] & (1L << y)) != 0;
+        }
+        return Arrays.binarySearch(sparseRows[x], y) >= 0;
+    }
+
+    public int cardinality(int x) {
+        return cardinalities[x];
+    }
+
+    /**
+     * Calls given action for each object from the cone of object x in ascending order of indices.
+     */
+    public void forEach(int x, IntConsumer action) {
+        long[] bits = bitsetRows[x];
+        if(bits != null) {
+            for(int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while(word != 0) {
+                    action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        } else {
+            for(int y : sparseRows[x]) {
+                action.accept(y);
+            }
+        }
+    }
+
+    /**
+     * @return iterator over objects from the cone of object x in ascending order of indices
+     */
+    public IntIterator iterator(int x) {
+        long[] bits = bitsetRows[x];
+        if(bits == null) {
+            return IntIterators.wrap(sparseRows[x]);
+        }
+
+        return new IntIterator() {
+            private int w = 0;
+            private long word = (bits.length > 0) ? bits[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while((word == 0) && (w < bits.length - 1)) {
+                    word = bits[++w];
+                }
+                return word != 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int y = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return y;
+            }
+        };
+    }
+
+    public int[] toIntArray(int x) {
+        if(sparseRows[x] != null) {
+            return sparseRows[x].clone();
+        }
+
+        int[] indices = new int[cardinalities[x]];
+        int[] i = new int[1];
+        forEach(x, (int y) -> indices[i[0]++] = y);
+        return indices;
+    }
+
+    /**
+     * Builds matrix in which object y belongs to the row of object x, iff x belongs to the row of object y in this matrix.
+     * Requires one pass over the elements of this matrix to count sizes of rows and one pass to fill them.
+     */
+    public DominanceConeMatrix transpose() {
+        DominanceConeMatrix transposed = new DominanceConeMatrix(numberOfObjects);
+
+        for(int x = 0; x < numberOfObjects; x++) {
+            forEach(x, (int y) -> transposed.cardinalities[y]++);
+        }
+
+        int numberOfWords = numberOfWords(numberOfObjects);
+        for(int y = 0; y < numberOfObjects; y++) {
+            if(transposed.isSparse(transposed.cardinalities[y])) {
+                transposed.sparseRows[y] = new int[transposed.cardinalities[y]];
+            } else {
+                transposed.bitsetRows[y] = new long[numberOfWords];
+            }
+        }
+
+        //rows are filled in ascending order of x, so sparse rows stay sorted
+        int[] sizes = new int[numberOfObjects];
+        for(int x = 0; x < numberOfObjects; x++) {
+            final int w = x >>> 6;
+            final long bit = 1L << x;
+            final int element = x;
+            forEach(x, (int y) -> {
+                long[] bits = transposed.bitsetRows[y];
+                if(bits != null) {
+                    bits[w] |= bit;
+                } else {
+                    transposed.sparseRows[y][sizes[y]++] = element;
+                }
+            });
+        }
+
+        return transposed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DominanceConeMatrix{numberOfObjects=").append(numberOfObjects).append(", rows=[");
+        for(int x = 0; x < numberOfObjects; x++) {
+            if(x > 0) {
+                sb.append(", ");
+            }
+            sb.append(Arrays.toString(toIntArray(x)));
+        }
+        return sb.append("]}").toString();
+    }
+}
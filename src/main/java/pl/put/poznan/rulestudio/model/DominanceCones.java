@@ -6,26 +6,46 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.dominance.DominanceConeCalculator;
-
-import java.util.Arrays;
+import pl.put.poznan.rulestudio.enums.DominanceConesAlgorithm;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
 
 public class DominanceCones {
+    /**
+     * Tables with fewer objects are processed sequentially, for them the cost of splitting the work exceeds the gain.
+     * Threshold is set from property "rulestudio.dominance-cones.parallel-threshold".
+     */
+    private static volatile int parallelCalculationThreshold = 512;
+
     private int numberOfObjects;
 
     @JsonProperty("Positive dominance cone")
-    private IntSortedSet[] positiveDCones;
+    private DominanceConeMatrix positiveDConeMatrix;
 
     @JsonProperty("Negative dominance cone")
-    private IntSortedSet[] negativeDCones;
+    private DominanceConeMatrix negativeDConeMatrix;
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("Positive inverse dominance cone")
-    private IntSortedSet[] positiveInvDCones;
+    private DominanceConeMatrix positiveInvDConeMatrix;
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("Negative inverse dominance cone")
+    private DominanceConeMatrix negativeInvDConeMatrix;
+
+    //only read from projects exported before cones were kept in DominanceConeMatrix, see readResolve
+    @JsonIgnore
+    private IntSortedSet[] positiveDCones;
+    @JsonIgnore
+    private IntSortedSet[] negativeDCones;
+    @JsonIgnore
+    private IntSortedSet[] positiveInvDCones;
+    @JsonIgnore
     private IntSortedSet[] negativeInvDCones;
 
+    private DominanceConesAlgorithm algorithm;
+
+    private long calculationTime;
+
     @JsonIgnore
     private String dataHash;
 
@@ -35,15 +55,22 @@ public class DominanceCones {
     public DominanceCones() {
         numberOfObjects = 0;
 
-        this.positiveDCones = null;
-        this.negativeDCones = null;
-        this.positiveInvDCones = null;
-        this.negativeInvDCones = null;
+        this.positiveDConeMatrix = null;
+        this.negativeDConeMatrix = null;
+        this.positiveInvDConeMatrix = null;
+        this.negativeInvDConeMatrix = null;
+
+        this.algorithm = null;
+        this.calculationTime = 0;
 
         this.dataHash = null;
         this.isCurrentData = null;
     }
 
+    public static void setParallelCalculationThreshold(int parallelCalculationThreshold) {
+        DominanceCones.parallelCalculationThreshold = parallelCalculationThreshold;
+    }
+
     public DominanceCones(InformationTable informationTable) {
         calculateDCones(informationTable);
     }
@@ -56,36 +83,55 @@ public class DominanceCones {
         this.numberOfObjects = numberOfObjects;
     }
 
-    public IntSortedSet[] getPositiveDCones() {
-        return positiveDCones;
+    public DominanceConeMatrix getPositiveDCones() {
+        return positiveDConeMatrix;
+    }
+
+    public void setPositiveDCones(DominanceConeMatrix positiveDCones) {
+        this.positiveDConeMatrix = positiveDCones;
+    }
+
+    public DominanceConeMatrix getNegativeDCones() {
+        return negativeDConeMatrix;
     }
 
-    public void setPositiveDCones(IntSortedSet[] positiveDCones) {
-        this.positiveDCones = positiveDCones;
+    public void setNegativeDCones(DominanceConeMatrix negativeDCones) {
+        this.negativeDConeMatrix = negativeDCones;
     }
 
-    public IntSortedSet[] getNegativeDCones() {
-        return negativeDCones;
+    public DominanceConeMatrix getPositiveInvDCones() {
+        return positiveInvDConeMatrix;
     }
 
-    public void setNegativeDCones(IntSortedSet[] negativeDCones) {
-        this.negativeDCones = negativeDCones;
+    public void setPositiveInvDCones(DominanceConeMatrix positiveInvDCones) {
+        this.positiveInvDConeMatrix = positiveInvDCones;
     }
 
-    public IntSortedSet[] getPositiveInvDCones() {
-        return positiveInvDCones;
+    public DominanceConeMatrix getNegativeInvDCones() {
+        return negativeInvDConeMatrix;
     }
 
-    public void setPositiveInvDCones(IntSortedSet[] positiveInvDCones) {
-        this.positiveInvDCones = positiveInvDCones;
+    public void setNegativeInvDCones(DominanceConeMatrix negativeInvDCones) {
+        this.negativeInvDConeMatrix = negativeInvDCones;
     }
 
-    public IntSortedSet[] getNegativeInvDCones() {
-        return negativeInvDCones;
+    public DominanceConesAlgorithm getAlgorithm() {
+        return algorithm;
     }
 
-    public void setNegativeInvDCones(IntSortedSet[] negativeInvDCones) {
-        this.negativeInvDCones = negativeInvDCones;
+    public void setAlgorithm(DominanceConesAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * @return time of calculation of all cones in milliseconds
+     */
+    public long getCalculationTime() {
+        return calculationTime;
+    }
+
+    public void setCalculationTime(long calculationTime) {
+        this.calculationTime = calculationTime;
     }
 
     public String getDataHash() {
@@ -105,67 +151,88 @@ public class DominanceCones {
         isCurrentData = currentData;
     }
 
+    private static DominanceConeMatrix toDominanceConeMatrix(IntSortedSet[] cones) {
+        if(cones == null) {
+            return null;
+        }
+
+        DominanceConeMatrix dominanceConeMatrix = new DominanceConeMatrix(cones.length);
+        for(int x = 0; x < cones.length; x++) {
+            dominanceConeMatrix.setRow(x, cones[x]);
+        }
+        return dominanceConeMatrix;
+    }
+
+    private Object readResolve() {
+        if((positiveDConeMatrix == null) && (positiveDCones != null)) {
+            positiveDConeMatrix = toDominanceConeMatrix(positiveDCones);
+            negativeDConeMatrix = toDominanceConeMatrix(negativeDCones);
+            positiveInvDConeMatrix = toDominanceConeMatrix(positiveInvDCones);
+            negativeInvDConeMatrix = toDominanceConeMatrix(negativeInvDCones);
+        }
+        positiveDCones = null;
+        negativeDCones = null;
+        positiveInvDCones = null;
+        negativeInvDCones = null;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "DominanceCones{" +
                 "numberOfObjects=" + numberOfObjects +
-                ", positiveDCones=" + Arrays.toString(positiveDCones) +
-                ", negativeDCones=" + Arrays.toString(negativeDCones) +
-                ", positiveInvDCones=" + Arrays.toString(positiveInvDCones) +
-                ", negativeInvDCones=" + Arrays.toString(negativeInvDCones) +
+                ", positiveDCones=" + positiveDConeMatrix +
+                ", negativeDCones=" + negativeDConeMatrix +
+                ", positiveInvDCones=" + positiveInvDConeMatrix +
+                ", negativeInvDCones=" + negativeInvDConeMatrix +
+                ", algorithm=" + algorithm +
+                ", calculationTime=" + calculationTime +
                 ", dataHash='" + dataHash + '\'' +
                 ", isCurrentData=" + isCurrentData +
                 '}';
     }
 
     public void calculateDCones(InformationTable informationTable) {
+        calculateDCones(informationTable, DominanceConesAlgorithm.RULELEARN);
+    }
+
+    public void calculateDCones(InformationTable informationTable, DominanceConesAlgorithm algorithm) {
+        long startTime = System.currentTimeMillis();
         this.numberOfObjects = informationTable.getNumberOfObjects();
 
-        this.positiveDCones = new IntSortedSet[this.numberOfObjects];
-        calculatePositiveDCones(informationTable);
-        this.negativeDCones = new IntSortedSet[this.numberOfObjects];
-        calculateNegativeDCones(informationTable);
+        this.positiveDConeMatrix = new DominanceConeMatrix(this.numberOfObjects);
+        this.negativeDConeMatrix = new DominanceConeMatrix(this.numberOfObjects);
+
+        if(algorithm == DominanceConesAlgorithm.SORT_BASED) {
+            SortBasedDominanceConeCalculator.calculateDCones(informationTable, this.positiveDConeMatrix, this.negativeDConeMatrix);
+        } else {
+            //cones of each object are independent, so objects are split between threads and each thread fills all arrays for its objects
+            CalculationsExecutor.parallelFor(this.numberOfObjects, parallelCalculationThreshold, (int x) -> calculateDCones(x, informationTable));
+        }
 
+        //y belongs to positive inverse cone of x iff x belongs to negative cone of y (and analogously for negative inverse cone),
+        //so inverse cones are obtained by transposition of direct cones instead of comparing objects again
         if(DominanceConeCalculator.INSTANCE.positiveDominanceConesEqual(informationTable)) {
-            this.positiveInvDCones = null;
+            this.positiveInvDConeMatrix = null;
         } else {
-            this.positiveInvDCones = new IntSortedSet[this.numberOfObjects];
-            calculatePositiveInvDCones(informationTable);
+            this.positiveInvDConeMatrix = this.negativeDConeMatrix.transpose();
         }
 
         if(DominanceConeCalculator.INSTANCE.negativeDominanceConesEqual(informationTable)) {
-            this.negativeInvDCones = null;
+            this.negativeInvDConeMatrix = null;
         } else {
-            this.negativeInvDCones = new IntSortedSet[this.numberOfObjects];
-            calculateNegativeInvDCones(informationTable);
+            this.negativeInvDConeMatrix = this.positiveDConeMatrix.transpose();
         }
 
+        this.algorithm = algorithm;
+        this.calculationTime = System.currentTimeMillis() - startTime;
         this.dataHash = informationTable.getHash();
         this.isCurrentData = true;
     }
 
-    private void calculatePositiveDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.positiveDCones[x] = DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, informationTable);
-        }
-    }
-
-    private void calculateNegativeDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.negativeDCones[x] = DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, informationTable);
-        }
-    }
-
-    private void calculatePositiveInvDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.positiveInvDCones[x] = DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(x, informationTable);
-        }
-    }
-
-    private void calculateNegativeInvDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.negativeInvDCones[x] = DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(x, informationTable);
-        }
+    private void calculateDCones(int x, InformationTable informationTable) {
+        this.positiveDConeMatrix.setRow(x, DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, informationTable));
+        this.negativeDConeMatrix.setRow(x, DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, informationTable));
     }
 
 }
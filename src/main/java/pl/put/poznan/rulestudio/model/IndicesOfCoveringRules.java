@@ -0,0 +1,103 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.util.Arrays;
+
+/**
+ * Indices of rules covering consecutive classified objects, stored in compressed sparse row format. Indices of rules covering all objects are kept
+ * one after another in one array and the second array holds, for each object, the position at which its indices start.
+ */
+public class IndicesOfCoveringRules {
+    private int[] offsets;
+    private int[] values;
+
+    /**
+     * Appends indices of rules covering consecutive objects.
+     */
+    public static class Builder {
+        private IntArrayList offsets;
+        private IntArrayList values;
+
+        public Builder(int expectedNumberOfObjects) {
+            this.offsets = new IntArrayList(expectedNumberOfObjects + 1);
+            this.offsets.add(0);
+            this.values = new IntArrayList();
+        }
+
+        public Builder add(IntList indicesOfCoveringRules) {
+            values.addAll(indicesOfCoveringRules);
+            offsets.add(values.size());
+            return this;
+        }
+
+        public Builder add(int[] indicesOfCoveringRules) {
+            values.addElements(values.size(), indicesOfCoveringRules);
+            offsets.add(values.size());
+            return this;
+        }
+
+        public IndicesOfCoveringRules build() {
+            return new IndicesOfCoveringRules(offsets.toIntArray(), values.toIntArray());
+        }
+    }
+
+    public IndicesOfCoveringRules(int[] offsets, int[] values) {
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+    public static IndicesOfCoveringRules fromLists(IntList[] indicesOfCoveringRules) {
+        Builder builder = new Builder(indicesOfCoveringRules.length);
+        for(IntList indices : indicesOfCoveringRules) {
+            builder.add(indices);
+        }
+        return builder.build();
+    }
+
+    public int getNumberOfObjects() {
+        return offsets.length - 1;
+    }
+
+    public int getNumberOfCoveringRules(int objectIndex) {
+        return offsets[objectIndex + 1] - offsets[objectIndex];
+    }
+
+    /**
+     * @return index of the i-th rule covering given object
+     */
+    public int getRuleIndex(int objectIndex, int i) {
+        return values[offsets[objectIndex] + i];
+    }
+
+    /**
+     * @return true, if given rule covers given object; requires indices of rules covering each object to be sorted ascending
+     */
+    public boolean contains(int objectIndex, int ruleIndex) {
+        return Arrays.binarySearch(values, offsets[objectIndex], offsets[objectIndex + 1], ruleIndex) >= 0;
+    }
+
+    public int[] getIndices(int objectIndex) {
+        return Arrays.copyOfRange(values, offsets[objectIndex], offsets[objectIndex + 1]);
+    }
+
+    /**
+     * @return total number of stored indices, i.e., sum of numbers of rules covering each object
+     */
+    public int getNumberOfIndices() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IndicesOfCoveringRules{numberOfObjects=").append(getNumberOfObjects()).append(", indices=[");
+        for(int objectIndex = 0; objectIndex < getNumberOfObjects(); objectIndex++) {
+            if(objectIndex > 0) {
+                sb.append(", ");
+            }
+            sb.append(Arrays.toString(getIndices(objectIndex)));
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,70 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jobs of all projects. Finished, failed and cancelled jobs are kept only for the configured time, so their results can be polled,
+ * and are removed when the next job is added. Jobs of a removed project are cancelled and removed with it.
+ */
+@Component
+public class JobsContainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobsContainer.class);
+
+    private ConcurrentHashMap<UUID, CalculationJob> jobHashMap;
+    private final long doneJobTimeToLiveMillis;
+
+    public JobsContainer(@Value("${rulestudio.jobs.done-job-ttl-minutes:60}") long doneJobTimeToLiveMinutes) {
+        jobHashMap = new ConcurrentHashMap<>();
+        this.doneJobTimeToLiveMillis = TimeUnit.MINUTES.toMillis(doneJobTimeToLiveMinutes);
+
+        logger.info("Jobs container:\tdoneJobTimeToLiveMinutes={}", doneJobTimeToLiveMinutes);
+    }
+
+    public ConcurrentHashMap<UUID, CalculationJob> getJobHashMap() {
+        return jobHashMap;
+    }
+
+    public void addJob(CalculationJob job) {
+        removeExpiredJobs();
+        jobHashMap.put(job.getId(), job);
+    }
+
+    public CalculationJob getJob(UUID id) {
+        return jobHashMap.get(id);
+    }
+
+    public CalculationJob removeJob(UUID id) {
+        return jobHashMap.remove(id);
+    }
+
+    /**
+     * Removes jobs, which are done for longer than the time to live.
+     */
+    public void removeExpiredJobs() {
+        long oldestAllowedFinishTime = System.currentTimeMillis() - doneJobTimeToLiveMillis;
+        jobHashMap.values().removeIf(job -> job.isDone() && (job.getFinishTime() < oldestAllowedFinishTime));
+    }
+
+    /**
+     * Requests cancellation of all jobs of given project and removes them.
+     */
+    public void removeJobsOfProject(UUID projectId) {
+        jobHashMap.values().removeIf(job -> {
+            if(!job.getProjectId().equals(projectId)) {
+                return false;
+            }
+
+            job.cancel();
+            logger.info("Job of removed project cancelled:\t{}", job.getId());
+            return true;
+        });
+    }
+}
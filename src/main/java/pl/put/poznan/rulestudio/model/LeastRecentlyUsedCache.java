@@ -0,0 +1,186 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Map bounded by the number of entries and, optionally, by their total weight, which evicts least recently used entries when a bound is exceeded.
+ * It counts hits, misses and evictions. All methods are synchronized, but values are calculated by {@link #getOrCalculate} outside of the lock,
+ * so other entries can be read in the meantime.
+ *
+ * @param <K> type of keys, which have to implement equals and hashCode
+ * @param <V> type of values
+ */
+public class LeastRecentlyUsedCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeastRecentlyUsedCache.class);
+
+    private static final class WeightedValue<V> {
+        private final V value;
+        private final long weight;
+
+        WeightedValue(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final String name;
+    private final LinkedHashMap<K, WeightedValue<V>> entries;
+    private final int maxNumberOfEntries;
+    private final Long maxWeight;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param name name of cached values used in logs
+     * @param maxWeight maximal total weight of entries or null, if only the number of entries is bounded
+     */
+    public LeastRecentlyUsedCache(String name, int maxNumberOfEntries, Long maxWeight) {
+        this.name = name;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.maxNumberOfEntries = maxNumberOfEntries;
+        this.maxWeight = maxWeight;
+        this.weight = 0;
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    public LeastRecentlyUsedCache(String name, int maxNumberOfEntries) {
+        this(name, maxNumberOfEntries, null);
+    }
+
+    /**
+     * @return value with given key, marked as the most recently used, or null, if there is no such value
+     */
+    public synchronized V get(K key) {
+        WeightedValue<V> entry = entries.get(key);
+        if(entry == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, 0);
+    }
+
+    /**
+     * Adds value and evicts least recently used entries other than the added one, until both bounds are kept.
+     * Value heavier than the maximal weight, or any value if the cache can't hold entries, isn't added at all.
+     */
+    public synchronized void put(K key, V value, long valueWeight) {
+        if(maxNumberOfEntries <= 0) {
+            return;
+        }
+        if((maxWeight != null) && (valueWeight > maxWeight)) {
+            logger.info("Value is too big to be cached in {} cache:\t{} B", name, valueWeight);
+            return;
+        }
+
+        WeightedValue<V> previousEntry = entries.put(key, new WeightedValue<>(value, valueWeight));
+        if(previousEntry != null) {
+            weight -= previousEntry.weight;
+        }
+        weight += valueWeight;
+
+        Iterator<Map.Entry<K, WeightedValue<V>>> iterator = entries.entrySet().iterator();
+        while(((entries.size() > maxNumberOfEntries) || ((maxWeight != null) && (weight > maxWeight))) && iterator.hasNext()) {
+            Map.Entry<K, WeightedValue<V>> eldest = iterator.next();
+            if(eldest.getKey().equals(key)) {
+                continue;
+            }
+
+            weight -= eldest.getValue().weight;
+            iterator.remove();
+            evictions++;
+            logger.info("Evicted from {} cache:\t{}", name, eldest.getKey());
+        }
+    }
+
+    public V getOrCalculate(K key, Supplier<V> calculation) {
+        return getOrCalculate(key, calculation, value -> 0);
+    }
+
+    /**
+     * Returns cached value with given key. If there is no such value, it is calculated by given supplier, weighed and added to the cache.
+     * Two threads missing the same key at once may both calculate the value, then the later one replaces the earlier one.
+     */
+    public V getOrCalculate(K key, Supplier<V> calculation, ToLongFunction<V> weigher) {
+        V value = get(key);
+        if(value != null) {
+            logger.info("Found in {} cache:\t{}", name, key);
+            return value;
+        }
+
+        value = calculation.get();
+        put(key, value, weigher.applyAsLong(value));
+        return value;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxNumberOfEntries() {
+        return maxNumberOfEntries;
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public Long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return counters of the cache; weight is given only if it is bounded
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(entries.size(), maxNumberOfEntries, (maxWeight == null) ? null : weight, maxWeight, hits, misses, evictions);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LeastRecentlyUsedCache{" +
+                "name='" + name + '\'' +
+                ", numberOfEntries=" + entries.size() +
+                ", maxNumberOfEntries=" + maxNumberOfEntries +
+                ", weight=" + weight +
+                ", maxWeight=" + maxWeight +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
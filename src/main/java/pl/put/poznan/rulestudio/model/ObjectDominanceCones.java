@@ -0,0 +1,66 @@
+package pl.put.poznan.rulestudio.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * Dominance cones of a single object.
+ */
+public class ObjectDominanceCones {
+    private int objectIndex;
+
+    @JsonProperty("Positive dominance cone")
+    private int[] positiveDCone;
+
+    @JsonProperty("Negative dominance cone")
+    private int[] negativeDCone;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("Positive inverse dominance cone")
+    private int[] positiveInvDCone;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("Negative inverse dominance cone")
+    private int[] negativeInvDCone;
+
+    public ObjectDominanceCones(int objectIndex, int[] positiveDCone, int[] negativeDCone, int[] positiveInvDCone, int[] negativeInvDCone) {
+        this.objectIndex = objectIndex;
+        this.positiveDCone = positiveDCone;
+        this.negativeDCone = negativeDCone;
+        this.positiveInvDCone = positiveInvDCone;
+        this.negativeInvDCone = negativeInvDCone;
+    }
+
+    public int getObjectIndex() {
+        return objectIndex;
+    }
+
+    public int[] getPositiveDCone() {
+        return positiveDCone;
+    }
+
+    public int[] getNegativeDCone() {
+        return negativeDCone;
+    }
+
+    public int[] getPositiveInvDCone() {
+        return positiveInvDCone;
+    }
+
+    public int[] getNegativeInvDCone() {
+        return negativeInvDCone;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectDominanceCones{" +
+                "objectIndex=" + objectIndex +
+                ", positiveDCone=" + Arrays.toString(positiveDCone) +
+                ", negativeDCone=" + Arrays.toString(negativeDCone) +
+                ", positiveInvDCone=" + Arrays.toString(positiveInvDCone) +
+                ", negativeInvDCone=" + Arrays.toString(negativeInvDCone) +
+                '}';
+    }
+}
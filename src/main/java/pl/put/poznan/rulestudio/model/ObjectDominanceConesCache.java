@@ -0,0 +1,72 @@
+package pl.put.poznan.rulestudio.model;
+
+/**
+ * Dominance cones of single objects from one project, kept for the most recently requested objects.
+ * Cache is valid for data with one hash only, it is emptied when cones of data with another hash are requested.
+ * Size of the cache is set from property "rulestudio.dominance-cones.object-cache-size".
+ */
+public class ObjectDominanceConesCache {
+    private static volatile int maxNumberOfObjects = 1024;
+
+    private String dataHash;
+    private Boolean positiveDominanceConesEqual;
+    private Boolean negativeDominanceConesEqual;
+    private final LeastRecentlyUsedCache<Integer, ObjectDominanceCones> objectDominanceCones;
+
+    /**
+     * Changes the size of caches created later, caches of projects that already exist keep their size.
+     */
+    public static void setMaxNumberOfObjects(int maxNumberOfObjects) {
+        ObjectDominanceConesCache.maxNumberOfObjects = maxNumberOfObjects;
+    }
+
+    public ObjectDominanceConesCache() {
+        this.dataHash = null;
+        this.objectDominanceCones = new LeastRecentlyUsedCache<>("object dominance cones", maxNumberOfObjects);
+    }
+
+    private void checkDataHash(String dataHash) {
+        if(!dataHash.equals(this.dataHash)) {
+            this.dataHash = dataHash;
+            this.positiveDominanceConesEqual = null;
+            this.negativeDominanceConesEqual = null;
+            this.objectDominanceCones.clear();
+        }
+    }
+
+    public synchronized ObjectDominanceCones get(String dataHash, int objectIndex) {
+        checkDataHash(dataHash);
+        return objectDominanceCones.get(objectIndex);
+    }
+
+    public synchronized void put(String dataHash, ObjectDominanceCones cones) {
+        checkDataHash(dataHash);
+        objectDominanceCones.put(cones.getObjectIndex(), cones);
+    }
+
+    /**
+     * @return remembered result of the check, if positive cones are equal to positive inverse cones for data with given hash, or null if it is unknown
+     */
+    public synchronized Boolean getPositiveDominanceConesEqual(String dataHash) {
+        checkDataHash(dataHash);
+        return positiveDominanceConesEqual;
+    }
+
+    /**
+     * @return remembered result of the check, if negative cones are equal to negative inverse cones for data with given hash, or null if it is unknown
+     */
+    public synchronized Boolean getNegativeDominanceConesEqual(String dataHash) {
+        checkDataHash(dataHash);
+        return negativeDominanceConesEqual;
+    }
+
+    public synchronized void setDominanceConesEqual(String dataHash, boolean positiveDominanceConesEqual, boolean negativeDominanceConesEqual) {
+        checkDataHash(dataHash);
+        this.positiveDominanceConesEqual = positiveDominanceConesEqual;
+        this.negativeDominanceConesEqual = negativeDominanceConesEqual;
+    }
+
+    public synchronized int size() {
+        return objectDominanceCones.size();
+    }
+}
@@ -0,0 +1,68 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.classification.ClassificationResult;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+
+import java.util.Arrays;
+
+/**
+ * Classification of objects sent directly in a request. It isn't stored in the project and doesn't contain classified objects,
+ * only the results of their classification in the order in which they were sent.
+ */
+public class ObjectsClassification {
+    private ClassificationResult[] classificationResults;
+    private IndicesOfCoveringRules indicesOfCoveringRules;
+    private ClassifierType typeOfClassifier;
+    private DefaultClassificationResultType defaultClassificationResult;
+    private String ruleSetHash;
+    private long calculationTime;
+
+    public ObjectsClassification(ClassificationResult[] classificationResults, IndicesOfCoveringRules indicesOfCoveringRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, String ruleSetHash, long calculationTime) {
+        this.classificationResults = classificationResults;
+        this.indicesOfCoveringRules = indicesOfCoveringRules;
+        this.typeOfClassifier = typeOfClassifier;
+        this.defaultClassificationResult = defaultClassificationResult;
+        this.ruleSetHash = ruleSetHash;
+        this.calculationTime = calculationTime;
+    }
+
+    public ClassificationResult[] getClassificationResults() {
+        return classificationResults;
+    }
+
+    public IndicesOfCoveringRules getIndicesOfCoveringRules() {
+        return indicesOfCoveringRules;
+    }
+
+    public ClassifierType getTypeOfClassifier() {
+        return typeOfClassifier;
+    }
+
+    public DefaultClassificationResultType getDefaultClassificationResult() {
+        return defaultClassificationResult;
+    }
+
+    public String getRuleSetHash() {
+        return ruleSetHash;
+    }
+
+    /**
+     * @return time of classification in microseconds, without parsing of objects
+     */
+    public long getCalculationTime() {
+        return calculationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectsClassification{" +
+                "classificationResults=" + Arrays.toString(classificationResults) +
+                ", indicesOfCoveringRules=" + indicesOfCoveringRules +
+                ", typeOfClassifier=" + typeOfClassifier +
+                ", defaultClassificationResult=" + defaultClassificationResult +
+                ", ruleSetHash='" + ruleSetHash + '\'' +
+                ", calculationTime=" + calculationTime +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Decision;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.KnownSimpleField;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Misclassification matrix updated object by object, so it can be accumulated while classified objects are streamed and forgotten.
+ * Rows correspond to original decisions and columns to suggested decisions. Decisions are identified by their evaluation, like in the decisions domain
+ * of {@link Classification}; decisions missing from the initial domain are appended at the end when they occur.
+ */
+public class OnlineMisclassificationMatrix {
+    private final List<EvaluationField> decisionsDomain;
+    private final Map<EvaluationField, Integer> decisionIndices;
+    private long[][] matrix;
+    private long numberOfObjects;
+    private long numberOfUnknownOriginalDecisions;
+    private long numberOfUnknownAssignments;
+
+    public OnlineMisclassificationMatrix(Decision[] orderOfDecisions) {
+        this.decisionsDomain = new ArrayList<>();
+        this.decisionIndices = new HashMap<>();
+        for(Decision decision : orderOfDecisions) {
+            getDecisionIndex(getEvaluation(decision));
+        }
+        this.matrix = new long[decisionsDomain.size()][decisionsDomain.size()];
+    }
+
+    private static EvaluationField getEvaluation(Decision decision) {
+        if(decision == null) {
+            return null;
+        }
+        int attributeIndex = decision.getAttributeIndices().iterator().nextInt(); //assumption that there is only one decision attribute
+        return decision.getEvaluation(attributeIndex);
+    }
+
+    private int getDecisionIndex(EvaluationField evaluation) {
+        Integer index = decisionIndices.get(evaluation);
+        if(index == null) {
+            index = decisionsDomain.size();
+            decisionsDomain.add(evaluation);
+            decisionIndices.put(evaluation, index);
+        }
+        return index;
+    }
+
+    private void ensureSize(int size) {
+        if(matrix.length >= size) {
+            return;
+        }
+
+        long[][] resized = new long[size][size];
+        for(int i = 0; i < matrix.length; i++) {
+            System.arraycopy(matrix[i], 0, resized[i], 0, matrix.length);
+        }
+        matrix = resized;
+    }
+
+    public void add(Decision originalDecision, Decision suggestedDecision) {
+        numberOfObjects++;
+
+        EvaluationField originalEvaluation = getEvaluation(originalDecision);
+        EvaluationField suggestedEvaluation = getEvaluation(suggestedDecision);
+        boolean originalKnown = originalEvaluation instanceof KnownSimpleField;
+        boolean suggestedKnown = suggestedEvaluation instanceof KnownSimpleField;
+        if(!originalKnown) {
+            numberOfUnknownOriginalDecisions++;
+        }
+        if(!suggestedKnown) {
+            numberOfUnknownAssignments++;
+        }
+        if((!originalKnown) || (!suggestedKnown)) {
+            return;
+        }
+
+        int row = getDecisionIndex(originalEvaluation);
+        int column = getDecisionIndex(suggestedEvaluation);
+        ensureSize(decisionsDomain.size());
+        matrix[row][column]++;
+    }
+
+    public String[] getDecisionsDomain() {
+        String[] decisions = new String[decisionsDomain.size()];
+        for(int i = 0; i < decisions.length; i++) {
+            decisions[i] = decisionsDomain.get(i).toString();
+        }
+        return decisions;
+    }
+
+    public long[][] getMatrix() {
+        return matrix;
+    }
+
+    public long getNumberOfObjects() {
+        return numberOfObjects;
+    }
+
+    public long getNumberOfCorrectAssignments() {
+        long correct = 0;
+        for(int i = 0; i < matrix.length; i++) {
+            correct += matrix[i][i];
+        }
+        return correct;
+    }
+
+    public long getNumberOfIncorrectAssignments() {
+        long all = 0;
+        for(long[] row : matrix) {
+            for(long count : row) {
+                all += count;
+            }
+        }
+        return all - getNumberOfCorrectAssignments();
+    }
+
+    public long getNumberOfUnknownOriginalDecisions() {
+        return numberOfUnknownOriginalDecisions;
+    }
+
+    public long getNumberOfUnknownAssignments() {
+        return numberOfUnknownAssignments;
+    }
+
+    /**
+     * @return ratio of correct assignments to all objects with known original and suggested decisions
+     */
+    public double getAccuracy() {
+        long correct = getNumberOfCorrectAssignments();
+        long all = correct + getNumberOfIncorrectAssignments();
+        return (all == 0) ? 0.0 : (double)correct / all;
+    }
+
+    @Override
+    public String toString() {
+        return "OnlineMisclassificationMatrix{" +
+                "decisionsDomain=" + decisionsDomain +
+                ", numberOfObjects=" + numberOfObjects +
+                ", numberOfCorrectAssignments=" + getNumberOfCorrectAssignments() +
+                ", numberOfIncorrectAssignments=" + getNumberOfIncorrectAssignments() +
+                ", numberOfUnknownOriginalDecisions=" + numberOfUnknownOriginalDecisions +
+                ", numberOfUnknownAssignments=" + numberOfUnknownAssignments +
+                '}';
+    }
+}
@@ -22,6 +22,8 @@ public class Project {
     private boolean currentUnionsWithSingleLimitingDecision;
     private boolean currentRules;
 
+    private transient ObjectDominanceConesCache objectDominanceConesCache;
+
     public Project(String name) {
         this.id = UUID.randomUUID();
         this.name = name;
@@ -106,6 +108,14 @@ public class Project {
         }
     }
 
+    public synchronized ObjectDominanceConesCache getObjectDominanceConesCache() {
+        //cache isn't exported with the project, so it is created again after import
+        if(objectDominanceConesCache == null) {
+            objectDominanceConesCache = new ObjectDominanceConesCache();
+        }
+        return objectDominanceConesCache;
+    }
+
     public DominanceCones getDominanceCones() {
         return dominanceCones;
     }
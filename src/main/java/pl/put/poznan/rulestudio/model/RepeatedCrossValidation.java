@@ -0,0 +1,189 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary of cross-validation repeated with different seeds. For each repeat, statistics of the misclassification matrix summed over its folds are kept,
+ * together with their mean and standard deviation over all repeats. Rules and classifications of folds aren't kept.
+ */
+public class RepeatedCrossValidation {
+
+    /**
+     * Values of one statistic in consecutive repeats, with their mean and sample standard deviation.
+     */
+    public static class Statistic {
+        private final double[] values;
+        private final double mean;
+        private final double standardDeviation;
+
+        public Statistic(double[] values) {
+            this.values = values;
+
+            double sum = 0.0;
+            for(double value : values) {
+                sum += value;
+            }
+            this.mean = (values.length == 0) ? 0.0 : sum / values.length;
+
+            double sumOfSquares = 0.0;
+            for(double value : values) {
+                sumOfSquares += (value - mean) * (value - mean);
+            }
+            this.standardDeviation = (values.length < 2) ? 0.0 : Math.sqrt(sumOfSquares / (values.length - 1));
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getStandardDeviation() {
+            return standardDeviation;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistic{" +
+                    "values=" + Arrays.toString(values) +
+                    ", mean=" + mean +
+                    ", standardDeviation=" + standardDeviation +
+                    '}';
+        }
+    }
+
+    private Integer numberOfFolds;
+    private long[] seeds;
+    private Map<String, Statistic> statistics;
+    private UnionType typeOfUnions;
+    private Double consistencyThreshold;
+    private RuleType typeOfRules;
+    private ClassifierType typeOfClassifier;
+    private DefaultClassificationResultType defaultClassificationResult;
+    private String dataHash;
+    private long calculationTime;
+
+    /**
+     * @param repeatOrdinalMisclassificationMatrices misclassification matrices summed over folds of consecutive repeats
+     */
+    public RepeatedCrossValidation(
+            Integer numberOfFolds,
+            long[] seeds,
+            OrdinalMisclassificationMatrix[] repeatOrdinalMisclassificationMatrices,
+            UnionType typeOfUnions,
+            Double consistencyThreshold,
+            RuleType typeOfRules,
+            ClassifierType typeOfClassifier,
+            DefaultClassificationResultType defaultClassificationResult,
+            String dataHash,
+            long calculationTime) {
+
+        this.numberOfFolds = numberOfFolds;
+        this.seeds = seeds;
+        this.typeOfUnions = typeOfUnions;
+        this.consistencyThreshold = consistencyThreshold;
+        this.typeOfRules = typeOfRules;
+        this.typeOfClassifier = typeOfClassifier;
+        this.defaultClassificationResult = defaultClassificationResult;
+        this.dataHash = dataHash;
+        this.calculationTime = calculationTime;
+
+        int numberOfRepeats = repeatOrdinalMisclassificationMatrices.length;
+        double[] accuracy = new double[numberOfRepeats];
+        double[] mae = new double[numberOfRepeats];
+        double[] rmse = new double[numberOfRepeats];
+        double[] gmean = new double[numberOfRepeats];
+        double[] numberOfCorrectAssignments = new double[numberOfRepeats];
+        double[] numberOfIncorrectAssignments = new double[numberOfRepeats];
+        for(int i = 0; i < numberOfRepeats; i++) {
+            OrdinalMisclassificationMatrix matrix = repeatOrdinalMisclassificationMatrices[i];
+            accuracy[i] = matrix.getAccuracy();
+            mae[i] = matrix.getMAE();
+            rmse[i] = matrix.getRMSE();
+            gmean[i] = matrix.getGmean();
+            numberOfCorrectAssignments[i] = matrix.getNumberOfCorrectAssignments();
+            numberOfIncorrectAssignments[i] = matrix.getNumberOfIncorrectAssignments();
+        }
+
+        this.statistics = new LinkedHashMap<>();
+        this.statistics.put("accuracy", new Statistic(accuracy));
+        this.statistics.put("mae", new Statistic(mae));
+        this.statistics.put("rmse", new Statistic(rmse));
+        this.statistics.put("gmean", new Statistic(gmean));
+        this.statistics.put("numberOfCorrectAssignments", new Statistic(numberOfCorrectAssignments));
+        this.statistics.put("numberOfIncorrectAssignments", new Statistic(numberOfIncorrectAssignments));
+    }
+
+    public Integer getNumberOfFolds() {
+        return numberOfFolds;
+    }
+
+    public long[] getSeeds() {
+        return seeds;
+    }
+
+    public int getNumberOfRepeats() {
+        return seeds.length;
+    }
+
+    public Map<String, Statistic> getStatistics() {
+        return statistics;
+    }
+
+    public UnionType getTypeOfUnions() {
+        return typeOfUnions;
+    }
+
+    public Double getConsistencyThreshold() {
+        return consistencyThreshold;
+    }
+
+    public RuleType getTypeOfRules() {
+        return typeOfRules;
+    }
+
+    public ClassifierType getTypeOfClassifier() {
+        return typeOfClassifier;
+    }
+
+    public DefaultClassificationResultType getDefaultClassificationResult() {
+        return defaultClassificationResult;
+    }
+
+    public String getDataHash() {
+        return dataHash;
+    }
+
+    /**
+     * @return time of all repeats in milliseconds
+     */
+    public long getCalculationTime() {
+        return calculationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RepeatedCrossValidation{" +
+                "numberOfFolds=" + numberOfFolds +
+                ", seeds=" + Arrays.toString(seeds) +
+                ", statistics=" + statistics +
+                ", typeOfUnions=" + typeOfUnions +
+                ", consistencyThreshold=" + consistencyThreshold +
+                ", typeOfRules=" + typeOfRules +
+                ", typeOfClassifier=" + typeOfClassifier +
+                ", defaultClassificationResult=" + defaultClassificationResult +
+                ", dataHash='" + dataHash + '\'' +
+                ", calculationTime=" + calculationTime +
+                '}';
+    }
+}
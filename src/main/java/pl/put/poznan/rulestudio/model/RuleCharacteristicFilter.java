@@ -0,0 +1,120 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.rules.RuleCharacteristics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.enums.converters.StringToOrderByRuleCharacteristicConverter;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Predicate on one characteristic of a rule, e.g. "confidence>=0.9" or "support>10".
+ * Rules with unknown value of the characteristic never satisfy the predicate.
+ */
+public class RuleCharacteristicFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleCharacteristicFilter.class);
+
+    private static final Pattern FILTER_PATTERN = Pattern.compile("^\\s*([A-Za-z0-9_]+)\\s*(>=|<=|!=|=|>|<)\\s*(\\S+)\\s*$");
+
+    private enum Operator {
+        GREATER_OR_EQUAL,
+        LESS_OR_EQUAL,
+        NOT_EQUAL,
+        EQUAL,
+        GREATER,
+        LESS
+    }
+
+    private final OrderByRuleCharacteristic characteristic;
+    private final Operator operator;
+    private final double value;
+
+    private RuleCharacteristicFilter(OrderByRuleCharacteristic characteristic, Operator operator, double value) {
+        this.characteristic = characteristic;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public static RuleCharacteristicFilter parse(String filter) {
+        Matcher matcher = FILTER_PATTERN.matcher(filter);
+        if(!matcher.matches()) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given filter of rules \"%s\" is incorrect. It should have the form \"characteristic>=value\".", filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        OrderByRuleCharacteristic characteristic = new StringToOrderByRuleCharacteristicConverter().convert(matcher.group(1));
+        if(characteristic == OrderByRuleCharacteristic.NONE) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given filter of rules \"%s\" doesn't point any rule characteristic.", filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        Operator operator;
+        switch (matcher.group(2)) {
+            case ">=":
+                operator = Operator.GREATER_OR_EQUAL;
+                break;
+            case "<=":
+                operator = Operator.LESS_OR_EQUAL;
+                break;
+            case "!=":
+                operator = Operator.NOT_EQUAL;
+                break;
+            case "=":
+                operator = Operator.EQUAL;
+                break;
+            case ">":
+                operator = Operator.GREATER;
+                break;
+            default:
+                operator = Operator.LESS;
+        }
+
+        double value;
+        try {
+            value = Double.parseDouble(matcher.group(3));
+        } catch (NumberFormatException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Value \"%s\" in filter of rules \"%s\" is not a number.", matcher.group(3), filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        return new RuleCharacteristicFilter(characteristic, operator, value);
+    }
+
+    public boolean test(RuleCharacteristicsColumns ruleCharacteristicsColumns, int ruleIndex) {
+        double ruleValue = ruleCharacteristicsColumns.getValue(characteristic, ruleIndex);
+        if(Double.compare(ruleValue, RuleCharacteristics.UNKNOWN_DOUBLE_VALUE) == 0) {
+            return false;
+        }
+
+        switch (operator) {
+            case GREATER_OR_EQUAL:
+                return ruleValue >= value;
+            case LESS_OR_EQUAL:
+                return ruleValue <= value;
+            case NOT_EQUAL:
+                return ruleValue != value;
+            case EQUAL:
+                return ruleValue == value;
+            case GREATER:
+                return ruleValue > value;
+            default:
+                return ruleValue < value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RuleCharacteristicFilter{" +
+                "characteristic=" + characteristic +
+                ", operator=" + operator +
+                ", value=" + value +
+                '}';
+    }
+}
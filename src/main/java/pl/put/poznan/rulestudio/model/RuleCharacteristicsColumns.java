@@ -0,0 +1,161 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.rulelearn.core.UnknownValueException;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+
+/**
+ * Characteristics of rules from one rule set stored column by column in primitive arrays, so rules can be ordered without boxing.
+ * Unknown values are stored as {@link RuleCharacteristics#UNKNOWN_INT_VALUE} or {@link RuleCharacteristics#UNKNOWN_DOUBLE_VALUE}.
+ * Sort permutation of each column is calculated on first request and reused afterwards.
+ */
+public class RuleCharacteristicsColumns {
+
+    private interface IntCharacteristic {
+        int get(RuleCharacteristics ruleCharacteristics);
+    }
+
+    private interface DoubleCharacteristic {
+        double get(RuleCharacteristics ruleCharacteristics);
+    }
+
+    private final int numberOfRules;
+    private final int[][] intColumns;
+    private final double[][] doubleColumns;
+    private final int[][] ascendingOrders;
+
+    public RuleCharacteristicsColumns(RuleSetWithCharacteristics ruleSetWithCharacteristics) {
+        this.numberOfRules = ruleSetWithCharacteristics.size();
+
+        int numberOfColumns = OrderByRuleCharacteristic.values().length;
+        this.intColumns = new int[numberOfColumns][];
+        this.doubleColumns = new double[numberOfColumns][];
+        this.ascendingOrders = new int[numberOfColumns][];
+
+        RuleCharacteristics[] ruleCharacteristicsArray = new RuleCharacteristics[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
+        }
+
+        collectIntColumn(OrderByRuleCharacteristic.SUPPORT, ruleCharacteristicsArray, RuleCharacteristics::getSupport);
+        collectDoubleColumn(OrderByRuleCharacteristic.STRENGTH, ruleCharacteristicsArray, RuleCharacteristics::getStrength);
+        collectDoubleColumn(OrderByRuleCharacteristic.CONFIDENCE, ruleCharacteristicsArray, RuleCharacteristics::getConfidence);
+        collectDoubleColumn(OrderByRuleCharacteristic.COVERAGE_FACTOR, ruleCharacteristicsArray, RuleCharacteristics::getCoverageFactor);
+        collectIntColumn(OrderByRuleCharacteristic.COVERAGE, ruleCharacteristicsArray, RuleCharacteristics::getCoverage);
+        collectIntColumn(OrderByRuleCharacteristic.NEGATIVE_COVERAGE, ruleCharacteristicsArray, RuleCharacteristics::getNegativeCoverage);
+        collectDoubleColumn(OrderByRuleCharacteristic.EPSILON, ruleCharacteristicsArray, RuleCharacteristics::getEpsilon);
+        collectDoubleColumn(OrderByRuleCharacteristic.EPSILON_PRIME, ruleCharacteristicsArray, RuleCharacteristics::getEpsilonPrime);
+        collectDoubleColumn(OrderByRuleCharacteristic.F_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getFConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.A_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getAConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.Z_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getZConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.L_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getLConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.C1_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getC1Confirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.S_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getSConfirmation);
+    }
+
+    private void collectIntColumn(OrderByRuleCharacteristic characteristic, RuleCharacteristics[] ruleCharacteristicsArray, IntCharacteristic function) {
+        int[] column = new int[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            try {
+                column[i] = function.get(ruleCharacteristicsArray[i]);
+            } catch (UnknownValueException e) {
+                column[i] = RuleCharacteristics.UNKNOWN_INT_VALUE;
+            }
+        }
+        intColumns[characteristic.ordinal()] = column;
+    }
+
+    private void collectDoubleColumn(OrderByRuleCharacteristic characteristic, RuleCharacteristics[] ruleCharacteristicsArray, DoubleCharacteristic function) {
+        double[] column = new double[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            try {
+                column[i] = function.get(ruleCharacteristicsArray[i]);
+            } catch (UnknownValueException e) {
+                column[i] = RuleCharacteristics.UNKNOWN_DOUBLE_VALUE;
+            }
+        }
+        doubleColumns[characteristic.ordinal()] = column;
+    }
+
+    public int getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    public boolean hasColumn(OrderByRuleCharacteristic characteristic) {
+        return (intColumns[characteristic.ordinal()] != null) || (doubleColumns[characteristic.ordinal()] != null);
+    }
+
+    /**
+     * @return values of given characteristic or null, if the characteristic isn't stored as integer
+     */
+    public int[] getIntColumn(OrderByRuleCharacteristic characteristic) {
+        return intColumns[characteristic.ordinal()];
+    }
+
+    /**
+     * @return values of given characteristic or null, if the characteristic isn't stored as double
+     */
+    public double[] getDoubleColumn(OrderByRuleCharacteristic characteristic) {
+        return doubleColumns[characteristic.ordinal()];
+    }
+
+    /**
+     * Value of given characteristic of the rule as double, unknown values are returned as {@link RuleCharacteristics#UNKNOWN_DOUBLE_VALUE}.
+     */
+    public double getValue(OrderByRuleCharacteristic characteristic, int ruleIndex) {
+        int[] intColumn = intColumns[characteristic.ordinal()];
+        if(intColumn != null) {
+            return (intColumn[ruleIndex] == RuleCharacteristics.UNKNOWN_INT_VALUE) ? RuleCharacteristics.UNKNOWN_DOUBLE_VALUE : intColumn[ruleIndex];
+        }
+        return doubleColumns[characteristic.ordinal()][ruleIndex];
+    }
+
+    /**
+     * Returns indices of rules ordered ascending by given characteristic. Rules with unknown value come first and rules with equal values
+     * keep their original order. Returned array is shared and must not be modified.
+     */
+    public int[] getAscendingOrder(OrderByRuleCharacteristic characteristic) {
+        int column = characteristic.ordinal();
+        int[] order;
+        synchronized (ascendingOrders) {
+            order = ascendingOrders[column];
+        }
+        if(order != null) {
+            return order;
+        }
+
+        order = new int[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            order[i] = i;
+        }
+
+        final int[] intColumn = intColumns[column];
+        final double[] doubleColumn = doubleColumns[column];
+        if(intColumn != null) {
+            IntArrays.mergeSort(order, (ind1, ind2) -> {
+                boolean unknown1 = intColumn[ind1] == RuleCharacteristics.UNKNOWN_INT_VALUE;
+                boolean unknown2 = intColumn[ind2] == RuleCharacteristics.UNKNOWN_INT_VALUE;
+                if(unknown1 || unknown2) {
+                    return Boolean.compare(unknown2, unknown1);
+                }
+                return Integer.compare(intColumn[ind1], intColumn[ind2]);
+            });
+        } else if(doubleColumn != null) {
+            IntArrays.mergeSort(order, (ind1, ind2) -> {
+                boolean unknown1 = Double.compare(doubleColumn[ind1], RuleCharacteristics.UNKNOWN_DOUBLE_VALUE) == 0;
+                boolean unknown2 = Double.compare(doubleColumn[ind2], RuleCharacteristics.UNKNOWN_DOUBLE_VALUE) == 0;
+                if(unknown1 || unknown2) {
+                    return Boolean.compare(unknown2, unknown1);
+                }
+                return Double.compare(doubleColumn[ind1], doubleColumn[ind2]);
+            });
+        }
+
+        synchronized (ascendingOrders) {
+            ascendingOrders[column] = order;
+        }
+        return order;
+    }
+}
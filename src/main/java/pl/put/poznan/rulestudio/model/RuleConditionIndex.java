@@ -0,0 +1,356 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.rulelearn.core.TernaryLogicValue;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.*;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.KnownSimpleField;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of conditions of all rules from one rule set, which finds all rules covering an object without checking every rule separately.
+ * Conditions are grouped by attribute. Thresholds of "at least" and "at most" conditions are sorted, so for a known evaluation of an object
+ * binary search finds the thresholds it doesn't reach and a precalculated bitset of rules having such conditions is removed from the candidates.
+ * Conditions of other kinds and conditions compared with unknown evaluations are checked directly, so the result is always the same as
+ * checking {@link Rule#covers(int, InformationTable)} rule by rule. The index keeps no state between calls, so it can be shared by many threads.
+ */
+public class RuleConditionIndex {
+
+    private static int compare(EvaluationField field1, EvaluationField field2) {
+        if(field1.isAtLeastAsGoodAs(field2) == TernaryLogicValue.TRUE) {
+            return (field2.isAtLeastAsGoodAs(field1) == TernaryLogicValue.TRUE) ? 0 : 1;
+        }
+        return -1;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void andNot(long[] bits, long[] removed) {
+        for(int w = 0; w < bits.length; w++) {
+            bits[w] &= ~removed[w];
+        }
+    }
+
+    private static final class IndexedCondition {
+        private final Condition<? extends EvaluationField> condition;
+        private final int ruleIndex;
+
+        IndexedCondition(Condition<? extends EvaluationField> condition, int ruleIndex) {
+            this.condition = condition;
+            this.ruleIndex = ruleIndex;
+        }
+
+        EvaluationField getThreshold() {
+            return condition.getLimitingEvaluation();
+        }
+    }
+
+    /**
+     * Conditions of all rules concerning one attribute.
+     */
+    private static final class AttributeConditions {
+        private final int attributeIndex;
+        private final boolean ordered;
+        private final Class<?> fieldClass;
+
+        private final List<IndexedCondition> conditions = new ArrayList<>();
+        private final List<IndexedCondition> atLeastConditions = new ArrayList<>();
+        private final List<IndexedCondition> atMostConditions = new ArrayList<>();
+        private final List<IndexedCondition> equalConditions = new ArrayList<>();
+
+        //thresholds are sorted ascending, rejected[i] holds rules having a condition not satisfied by evaluations worse (better) than threshold i
+        private EvaluationField[] atLeastThresholds;
+        private long[][] atLeastRejected;
+        private EvaluationField[] atMostThresholds;
+        private long[][] atMostRejected;
+        private EvaluationField[] equalValues;
+        private long[][] equalRules;
+        private long[] allEqualRules;
+
+        AttributeConditions(int attributeIndex, boolean ordered, Class<?> fieldClass) {
+            this.attributeIndex = attributeIndex;
+            this.ordered = ordered;
+            this.fieldClass = fieldClass;
+        }
+
+        private EvaluationField[] sortThresholds(List<IndexedCondition> indexedConditions, List<IntArrayList> groups) {
+            indexedConditions.sort((c1, c2) -> compare(c1.getThreshold(), c2.getThreshold()));
+
+            List<EvaluationField> thresholds = new ArrayList<>();
+            for(IndexedCondition indexedCondition : indexedConditions) {
+                int last = thresholds.size() - 1;
+                if((last < 0) || (compare(thresholds.get(last), indexedCondition.getThreshold()) != 0)) {
+                    thresholds.add(indexedCondition.getThreshold());
+                    groups.add(new IntArrayList());
+                    last++;
+                }
+                groups.get(last).add(indexedCondition.ruleIndex);
+            }
+            return thresholds.toArray(new EvaluationField[0]);
+        }
+
+        void build(int numberOfWords) {
+            List<IntArrayList> groups = new ArrayList<>();
+            atLeastThresholds = sortThresholds(atLeastConditions, groups);
+            atLeastRejected = new long[atLeastThresholds.length][];
+            long[] cumulative = new long[numberOfWords];
+            for(int i = atLeastThresholds.length - 1; i >= 0; i--) {
+                for(int j = 0; j < groups.get(i).size(); j++) {
+                    set(cumulative, groups.get(i).getInt(j));
+                }
+                atLeastRejected[i] = cumulative.clone();
+            }
+
+            groups.clear();
+            atMostThresholds = sortThresholds(atMostConditions, groups);
+            atMostRejected = new long[atMostThresholds.length][];
+            cumulative = new long[numberOfWords];
+            for(int i = 0; i < atMostThresholds.length; i++) {
+                for(int j = 0; j < groups.get(i).size(); j++) {
+                    set(cumulative, groups.get(i).getInt(j));
+                }
+                atMostRejected[i] = cumulative.clone();
+            }
+
+            groups.clear();
+            allEqualRules = new long[numberOfWords];
+            if(ordered) {
+                equalValues = sortThresholds(equalConditions, groups);
+            } else {
+                List<EvaluationField> values = new ArrayList<>();
+                for(IndexedCondition indexedCondition : equalConditions) {
+                    int i = 0;
+                    while((i < values.size()) && (values.get(i).isEqualTo(indexedCondition.getThreshold()) != TernaryLogicValue.TRUE)) {
+                        i++;
+                    }
+                    if(i == values.size()) {
+                        values.add(indexedCondition.getThreshold());
+                        groups.add(new IntArrayList());
+                    }
+                    groups.get(i).add(indexedCondition.ruleIndex);
+                }
+                equalValues = values.toArray(new EvaluationField[0]);
+            }
+            equalRules = new long[equalValues.length][numberOfWords];
+            for(int i = 0; i < equalValues.length; i++) {
+                for(int j = 0; j < groups.get(i).size(); j++) {
+                    set(equalRules[i], groups.get(i).getInt(j));
+                    set(allEqualRules, groups.get(i).getInt(j));
+                }
+            }
+        }
+
+        /**
+         * @return index of the first threshold, which is better than given evaluation (when strict) or at least as good as given evaluation
+         */
+        private static int search(EvaluationField[] thresholds, EvaluationField evaluation, boolean strict) {
+            int low = 0;
+            int high = thresholds.length;
+            while(low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compare(thresholds[middle], evaluation);
+                if((comparison > 0) || ((!strict) && (comparison == 0))) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private int findEqualValue(EvaluationField evaluation) {
+            if(ordered) {
+                int i = search(equalValues, evaluation, false);
+                return ((i < equalValues.length) && (compare(equalValues[i], evaluation) == 0)) ? i : -1;
+            }
+
+            for(int i = 0; i < equalValues.length; i++) {
+                if(equalValues[i].isEqualTo(evaluation) == TernaryLogicValue.TRUE) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void removeNotCovering(int objectIndex, InformationTable informationTable, long[] covering) {
+            EvaluationField evaluation = informationTable.getField(objectIndex, attributeIndex);
+            if((!(evaluation instanceof KnownSimpleField)) || (evaluation.getClass() != fieldClass)) {
+                for(IndexedCondition indexedCondition : conditions) {
+                    if(!indexedCondition.condition.satisfiedBy(objectIndex, informationTable)) {
+                        covering[indexedCondition.ruleIndex >>> 6] &= ~(1L << indexedCondition.ruleIndex);
+                    }
+                }
+                return;
+            }
+
+            int i = search(atLeastThresholds, evaluation, true);
+            if(i < atLeastThresholds.length) {
+                andNot(covering, atLeastRejected[i]);
+            }
+
+            i = search(atMostThresholds, evaluation, false);
+            if(i > 0) {
+                andNot(covering, atMostRejected[i - 1]);
+            }
+
+            if(equalValues.length > 0) {
+                i = findEqualValue(evaluation);
+                if(i < 0) {
+                    andNot(covering, allEqualRules);
+                } else {
+                    for(int w = 0; w < covering.length; w++) {
+                        covering[w] &= ~(allEqualRules[w] & ~equalRules[i][w]);
+                    }
+                }
+            }
+        }
+    }
+
+    private final int numberOfRules;
+    private final long[] allRules;
+    private final AttributeConditions[] attributeConditions;
+    private final int[] rulesWithOtherConditions;
+    private final Condition<? extends EvaluationField>[][] otherConditions;
+
+    @SuppressWarnings("unchecked")
+    public RuleConditionIndex(RuleSet ruleSet) {
+        this.numberOfRules = ruleSet.size();
+        int numberOfWords = (numberOfRules + 63) >>> 6;
+        this.allRules = new long[numberOfWords];
+
+        Map<Integer, List<IndexedCondition>> conditionsByAttribute = new LinkedHashMap<>();
+        for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+            set(allRules, ruleIndex);
+            for(Condition<? extends EvaluationField> condition : ruleSet.getRule(ruleIndex).getConditions()) {
+                conditionsByAttribute.computeIfAbsent(condition.getAttributeWithContext().getAttributeIndex(), attributeIndex -> new ArrayList<>()).add(new IndexedCondition(condition, ruleIndex));
+            }
+        }
+
+        List<AttributeConditions> indexedAttributes = new ArrayList<>();
+        List<List<Condition<? extends EvaluationField>>> notIndexed = new ArrayList<>(numberOfRules);
+        for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+            notIndexed.add(null);
+        }
+
+        for(Map.Entry<Integer, List<IndexedCondition>> entry : conditionsByAttribute.entrySet()) {
+            List<IndexedCondition> indexedConditions = entry.getValue();
+            AttributePreferenceType preferenceType = indexedConditions.get(0).condition.getAttributeWithContext().getAttributePreferenceType();
+            boolean ordered = (preferenceType == AttributePreferenceType.GAIN) || (preferenceType == AttributePreferenceType.COST);
+
+            Class<?> fieldClass = indexedConditions.get(0).getThreshold().getClass();
+            boolean indexable = KnownSimpleField.class.isAssignableFrom(fieldClass);
+            for(IndexedCondition indexedCondition : indexedConditions) {
+                indexable &= indexedCondition.getThreshold().getClass() == fieldClass;
+            }
+
+            AttributeConditions attribute = new AttributeConditions(entry.getKey(), ordered, fieldClass);
+            long[] rulesWithEqualCondition = new long[numberOfWords];
+            for(IndexedCondition indexedCondition : indexedConditions) {
+                int ruleIndex = indexedCondition.ruleIndex;
+                Condition<? extends EvaluationField> condition = indexedCondition.condition;
+                boolean indexed = indexable;
+                if(!indexable) {
+                    //attribute isn't indexed
+                } else if(ordered && (condition instanceof ConditionAtLeast)) {
+                    attribute.atLeastConditions.add(indexedCondition);
+                } else if(ordered && (condition instanceof ConditionAtMost)) {
+                    attribute.atMostConditions.add(indexedCondition);
+                } else if((condition instanceof ConditionEqual) && ((rulesWithEqualCondition[ruleIndex >>> 6] & (1L << ruleIndex)) == 0)) {
+                    set(rulesWithEqualCondition, ruleIndex);
+                    attribute.equalConditions.add(indexedCondition);
+                } else {
+                    indexed = false;
+                }
+
+                if(indexed) {
+                    attribute.conditions.add(indexedCondition);
+                } else {
+                    if(notIndexed.get(ruleIndex) == null) {
+                        notIndexed.set(ruleIndex, new ArrayList<>());
+                    }
+                    notIndexed.get(ruleIndex).add(condition);
+                }
+            }
+
+            if(!attribute.conditions.isEmpty()) {
+                attribute.build(numberOfWords);
+                indexedAttributes.add(attribute);
+            }
+        }
+
+        this.attributeConditions = indexedAttributes.toArray(new AttributeConditions[0]);
+
+        IntArrayList rules = new IntArrayList();
+        for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+            if(notIndexed.get(ruleIndex) != null) {
+                rules.add(ruleIndex);
+            }
+        }
+        this.rulesWithOtherConditions = rules.toIntArray();
+        this.otherConditions = new Condition[rulesWithOtherConditions.length][];
+        for(int i = 0; i < rulesWithOtherConditions.length; i++) {
+            otherConditions[i] = notIndexed.get(rulesWithOtherConditions[i]).toArray(new Condition[0]);
+        }
+    }
+
+    public int getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    /**
+     * @return bitset with one bit per rule, which is set, iff the rule covers given object
+     */
+    public long[] getCoveringRules(int objectIndex, InformationTable informationTable) {
+        long[] covering = allRules.clone();
+        for(AttributeConditions attribute : attributeConditions) {
+            attribute.removeNotCovering(objectIndex, informationTable, covering);
+        }
+
+        for(int i = 0; i < rulesWithOtherConditions.length; i++) {
+            int ruleIndex = rulesWithOtherConditions[i];
+            if((covering[ruleIndex >>> 6] & (1L << ruleIndex)) == 0) {
+                continue;
+            }
+            for(Condition<? extends EvaluationField> condition : otherConditions[i]) {
+                if(!condition.satisfiedBy(objectIndex, informationTable)) {
+                    covering[ruleIndex >>> 6] &= ~(1L << ruleIndex);
+                    break;
+                }
+            }
+        }
+
+        return covering;
+    }
+
+    /**
+     * Adds indices of rules covering given object to the list in ascending order.
+     */
+    public void getIndicesOfCoveringRules(int objectIndex, InformationTable informationTable, IntList indicesOfCoveringRules) {
+        long[] covering = getCoveringRules(objectIndex, informationTable);
+        for(int w = 0; w < covering.length; w++) {
+            long word = covering[w];
+            while(word != 0) {
+                indicesOfCoveringRules.add((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RuleConditionIndex{" +
+                "numberOfRules=" + numberOfRules +
+                ", numberOfIndexedAttributes=" + attributeConditions.length +
+                ", numberOfRulesWithOtherConditions=" + rulesWithOtherConditions.length +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.BasicRuleCoverageInformation;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Induced rule sets kept for all projects, so the same rules are never induced twice while they are kept.
+ * Rule sets are identified by the content of the learning data (its hash) and parameters of the induction. Their number is bounded,
+ * and so is their estimated memory footprint, which includes coverage of rules and the learning data, because induced rules keep a reference to it.
+ */
+@Component
+public class RuleSetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleSetCache.class);
+
+    private static final long ESTIMATED_RULE_SIZE = 512;
+    private static final long ESTIMATED_CONDITION_SIZE = 128;
+    private static final long ESTIMATED_COVERED_OBJECT_SIZE = 48;
+    private static final long ESTIMATED_OBJECT_INDEX_SIZE = 16;
+    private static final long ESTIMATED_FIELD_SIZE = 24;
+
+    private static final class RuleSetKey {
+        private final String dataHash;
+        private final UnionType typeOfUnions;
+        private final Double consistencyThreshold;
+        private final RuleType typeOfRules;
+
+        RuleSetKey(String dataHash, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules) {
+            this.dataHash = dataHash;
+            this.typeOfUnions = typeOfUnions;
+            this.consistencyThreshold = consistencyThreshold;
+            this.typeOfRules = typeOfRules;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RuleSetKey that = (RuleSetKey) o;
+            return dataHash.equals(that.dataHash) &&
+                    typeOfUnions == that.typeOfUnions &&
+                    consistencyThreshold.equals(that.consistencyThreshold) &&
+                    typeOfRules == that.typeOfRules;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dataHash, typeOfUnions, consistencyThreshold, typeOfRules);
+        }
+
+        @Override
+        public String toString() {
+            return "RuleSetKey{" +
+                    "dataHash='" + dataHash + '\'' +
+                    ", typeOfUnions=" + typeOfUnions +
+                    ", consistencyThreshold=" + consistencyThreshold +
+                    ", typeOfRules=" + typeOfRules +
+                    '}';
+        }
+    }
+
+    private final LeastRecentlyUsedCache<RuleSetKey, RuleSetWithCharacteristics> cache;
+
+    public RuleSetCache(
+            @Value("${rulestudio.cache.rules.max-entries:64}") int maxNumberOfEntries,
+            @Value("${rulestudio.cache.rules.max-heap-fraction:0.125}") double maxHeapFraction) {
+        this.cache = new LeastRecentlyUsedCache<>("rule set", maxNumberOfEntries, (long)(Runtime.getRuntime().maxMemory() * maxHeapFraction));
+
+        logger.info("Rule set cache:\tmaxNumberOfEntries={}, maxWeight={} B", cache.getMaxNumberOfEntries(), cache.getMaxWeight());
+    }
+
+    /**
+     * Estimates memory taken by rules, their conditions and their coverage - covered objects with their decisions, and indices of positive
+     * and covered not supporting objects - together with evaluations of objects from the learning data.
+     */
+    private static long estimateWeight(RuleSetWithCharacteristics ruleSet, InformationTable learningInformationTable) {
+        long weight = ESTIMATED_FIELD_SIZE * learningInformationTable.getNumberOfObjects() * learningInformationTable.getNumberOfAttributes();
+        for(int i = 0; i < ruleSet.size(); i++) {
+            weight += ESTIMATED_RULE_SIZE + ESTIMATED_CONDITION_SIZE * ruleSet.getRule(i).getConditions().length;
+
+            BasicRuleCoverageInformation basicRuleCoverageInformation = ruleSet.getRuleCharacteristics(i).getRuleCoverageInformation();
+            if(basicRuleCoverageInformation != null) {
+                weight += ESTIMATED_COVERED_OBJECT_SIZE * basicRuleCoverageInformation.getIndicesOfCoveredObjects().size();
+                weight += ESTIMATED_OBJECT_INDEX_SIZE * basicRuleCoverageInformation.getIndicesOfPositiveObjects().size();
+                weight += ESTIMATED_OBJECT_INDEX_SIZE * basicRuleCoverageInformation.getIndicesOfCoveredNotSupportingObjects().size();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns cached rule set induced with given parameters from data with the same hash as the given learning information table. If there is no such rule set,
+     * it is calculated by given supplier and added to the cache. Calculation and estimation of its weight are done outside of the lock,
+     * so other rule sets can be read in the meantime.
+     */
+    public RuleSetWithCharacteristics getOrCalculate(InformationTable learningInformationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, Supplier<RuleSetWithCharacteristics> calculation) {
+        RuleSetKey key = new RuleSetKey(learningInformationTable.getHash(), typeOfUnions, consistencyThreshold, typeOfRules);
+
+        return cache.getOrCalculate(key, calculation, ruleSet -> estimateWeight(ruleSet, learningInformationTable));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSetCache{" +
+                "cache=" + cache +
+                '}';
+    }
+}
@@ -1,9 +1,12 @@
 package pl.put.poznan.rulestudio.model;
 
 import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.RuleField;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.UnionType;
 
+import java.util.EnumSet;
+
 public class RulesWithHttpParameters implements Cloneable {
     private RuleSetWithCharacteristics ruleSet;
     private UnionType typeOfUnions;
@@ -15,16 +18,22 @@ public class RulesWithHttpParameters implements Cloneable {
     private Boolean isCurrentData;
     private ValidityRulesContainer validityRulesContainer;
     private Boolean isCoveragePresent;
+    private transient RuleCharacteristicsColumns ruleCharacteristicsColumns;
+    private transient int[] ruleIndices;
+    private transient Integer numberOfSelectedRules;
+    private transient EnumSet<RuleField> fields;
   
     public RulesWithHttpParameters(RuleSetWithCharacteristics rules, String rulesFileName) {
         this.externalRules = true;
         this.ruleSet = rules;
+        this.ruleCharacteristicsColumns = new RuleCharacteristicsColumns(rules);
         this.rulesFileName = rulesFileName;
     }
 
     public RulesWithHttpParameters(RuleSetWithCharacteristics rules, UnionType typeOfUnions, Double consistencyThreshold, RuleType ruleType) {
         this.externalRules = false;
         this.ruleSet = rules;
+        this.ruleCharacteristicsColumns = new RuleCharacteristicsColumns(rules);
         this.typeOfUnions = typeOfUnions;
         this.consistencyThreshold = consistencyThreshold;
         this.typeOfRules = ruleType;
@@ -38,6 +47,15 @@ public class RulesWithHttpParameters implements Cloneable {
 
     public void setRuleSet(RuleSetWithCharacteristics ruleSet) {
         this.ruleSet = ruleSet;
+        this.ruleCharacteristicsColumns = new RuleCharacteristicsColumns(ruleSet);
+    }
+
+    public synchronized RuleCharacteristicsColumns getRuleCharacteristicsColumns() {
+        //columns aren't exported with the project, so they are recreated after import
+        if(ruleCharacteristicsColumns == null) {
+            ruleCharacteristicsColumns = new RuleCharacteristicsColumns(ruleSet);
+        }
+        return ruleCharacteristicsColumns;
     }
 
     public UnionType getTypeOfUnions() {
@@ -112,6 +130,39 @@ public class RulesWithHttpParameters implements Cloneable {
         isCoveragePresent = coveragePresent;
     }
 
+    /**
+     * @return indices of rules from the rule set in order of presentation or null, if all rules should be presented in their original order
+     */
+    public int[] getRuleIndices() {
+        return ruleIndices;
+    }
+
+    public void setRuleIndices(int[] ruleIndices) {
+        this.ruleIndices = ruleIndices;
+    }
+
+    /**
+     * @return number of rules satisfying filters before paging or null, if rules weren't filtered nor paged
+     */
+    public Integer getNumberOfSelectedRules() {
+        return numberOfSelectedRules;
+    }
+
+    public void setNumberOfSelectedRules(Integer numberOfSelectedRules) {
+        this.numberOfSelectedRules = numberOfSelectedRules;
+    }
+
+    /**
+     * @return fields of rules to be presented or null, if all fields should be presented
+     */
+    public EnumSet<RuleField> getFields() {
+        return fields;
+    }
+
+    public void setFields(EnumSet<RuleField> fields) {
+        this.fields = fields;
+    }
+
     @Override
     public String toString() {
         return "RulesWithHttpParameters{" +
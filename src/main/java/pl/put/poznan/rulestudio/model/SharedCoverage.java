@@ -0,0 +1,136 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.Rule;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+
+import java.util.Arrays;
+
+/**
+ * Lets classifiers prepared once for a rule set use covering rules of objects calculated once for each classified information table.
+ * Rules of {@link #getRuleSet()} answer whether they cover an object of a registered table from indices of covering rules registered for that table,
+ * and check their conditions as usual for objects of any other table. Tables are told apart by identity, so each classification registers its own table
+ * for as long as it is classified and other classifications with the same rules aren't affected.
+ */
+public final class SharedCoverage {
+
+    private static final class Coverage {
+        private final InformationTable informationTable;
+        private final IndicesOfCoveringRules indicesOfCoveringRules;
+
+        Coverage(InformationTable informationTable, IndicesOfCoveringRules indicesOfCoveringRules) {
+            this.informationTable = informationTable;
+            this.indicesOfCoveringRules = indicesOfCoveringRules;
+        }
+    }
+
+    private static final class SharedCoverageRule extends Rule {
+        private final int ruleIndex;
+        private final SharedCoverage sharedCoverage;
+
+        SharedCoverageRule(Rule rule, int ruleIndex, SharedCoverage sharedCoverage) {
+            super(rule.getType(), rule.getSemantics(), rule.getConditions(), rule.getDecision());
+            this.ruleIndex = ruleIndex;
+            this.sharedCoverage = sharedCoverage;
+        }
+
+        @Override
+        public boolean covers(int objectIndex, InformationTable informationTable) {
+            IndicesOfCoveringRules indicesOfCoveringRules = sharedCoverage.getIndicesOfCoveringRules(informationTable);
+            if(indicesOfCoveringRules != null) {
+                return indicesOfCoveringRules.contains(objectIndex, ruleIndex);
+            }
+            return super.covers(objectIndex, informationTable);
+        }
+    }
+
+    private final RuleSetWithCharacteristics originalRuleSet;
+    private final RuleSetWithCharacteristics ruleSet;
+    private final RuleConditionIndex ruleConditionIndex;
+
+    //copied on each change, so rules read it without locking while objects are classified
+    private volatile Coverage[] coverages;
+
+    /**
+     * @param ruleConditionIndex index of conditions of the rule set or null, if rules are checked directly
+     */
+    public SharedCoverage(RuleSetWithCharacteristics ruleSetWithCharacteristics, RuleConditionIndex ruleConditionIndex) {
+        this.originalRuleSet = ruleSetWithCharacteristics;
+        this.ruleConditionIndex = ruleConditionIndex;
+        this.coverages = new Coverage[0];
+
+        int numberOfRules = ruleSetWithCharacteristics.size();
+        Rule[] rules = new Rule[numberOfRules];
+        RuleCharacteristics[] ruleCharacteristics = new RuleCharacteristics[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            rules[i] = new SharedCoverageRule(ruleSetWithCharacteristics.getRule(i), i, this);
+            ruleCharacteristics[i] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
+        }
+
+        this.ruleSet = new RuleSetWithCharacteristics(rules, ruleCharacteristics, true);
+        this.ruleSet.setLearningInformationTableHash(ruleSetWithCharacteristics.getLearningInformationTableHash());
+    }
+
+    public RuleSetWithCharacteristics getOriginalRuleSet() {
+        return originalRuleSet;
+    }
+
+    /**
+     * @return rule set with the same rules, characteristics and learning data hash as the original one, whose rules use registered coverage
+     */
+    public RuleSetWithCharacteristics getRuleSet() {
+        return ruleSet;
+    }
+
+    public RuleConditionIndex getRuleConditionIndex() {
+        return ruleConditionIndex;
+    }
+
+    private IndicesOfCoveringRules getIndicesOfCoveringRules(InformationTable informationTable) {
+        for(Coverage coverage : coverages) {
+            if(coverage.informationTable == informationTable) {
+                return coverage.indicesOfCoveringRules;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes rules take their coverage of objects from given table from given indices, until they are unregistered.
+     * Indices of rules covering each object have to be sorted ascending. Nothing is registered, if indices are null.
+     */
+    public synchronized void register(InformationTable informationTable, IndicesOfCoveringRules indicesOfCoveringRules) {
+        if(indicesOfCoveringRules == null) {
+            return;
+        }
+
+        Coverage[] newCoverages = Arrays.copyOf(coverages, coverages.length + 1);
+        newCoverages[coverages.length] = new Coverage(informationTable, indicesOfCoveringRules);
+        coverages = newCoverages;
+    }
+
+    /**
+     * Removes indices registered for given table with {@link #register}. It has to be called once the table is classified, also when classification fails.
+     */
+    public synchronized void unregister(InformationTable informationTable, IndicesOfCoveringRules indicesOfCoveringRules) {
+        for(int i = 0; i < coverages.length; i++) {
+            if((coverages[i].informationTable == informationTable) && (coverages[i].indicesOfCoveringRules == indicesOfCoveringRules)) {
+                Coverage[] newCoverages = new Coverage[coverages.length - 1];
+                System.arraycopy(coverages, 0, newCoverages, 0, i);
+                System.arraycopy(coverages, i + 1, newCoverages, i, coverages.length - i - 1);
+                coverages = newCoverages;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SharedCoverage{" +
+                "numberOfRules=" + ruleSet.size() +
+                ", ruleConditionIndex=" + ruleConditionIndex +
+                ", numberOfRegisteredTables=" + coverages.length +
+                '}';
+    }
+}
@@ -0,0 +1,191 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.rulelearn.core.AttributeNotFoundException;
+import org.rulelearn.core.TernaryLogicValue;
+import org.rulelearn.data.AttributePreferenceType;
+import org.rulelearn.data.EvaluationAttribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.Table;
+import org.rulelearn.types.EvaluationField;
+import org.rulelearn.types.KnownSimpleField;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Calculates dominance cones of all objects at once, attribute by attribute, on bitsets.
+ * For each object its cones start as the whole universe and are intersected with the objects that are at least (at most) as good
+ * on consecutive active condition attributes:
+ * <ul>
+ *     <li>attribute with known values and preference order is sorted once and its rank groups are swept from one end,
+ *     so each object is intersected with a cumulative bitset of all objects not worse (not better) than it,</li>
+ *     <li>attribute with known values without preference order is split into groups of equal values,</li>
+ *     <li>attribute with missing values is compared pair by pair, the same way as in {@link org.rulelearn.dominance.DominanceConeCalculator}.</li>
+ * </ul>
+ * Positive cone of x holds objects y such that y is at least as good as x, negative cone holds objects y such that y is at most as good as x.
+ */
+public final class SortBasedDominanceConeCalculator {
+
+    private static final int PAIRWISE_PARALLEL_THRESHOLD = 256;
+
+    private SortBasedDominanceConeCalculator() {
+    }
+
+    private static long[][] createFullRows(int numberOfObjects) {
+        int numberOfWords = (numberOfObjects + 63) >>> 6;
+        long[][] rows = new long[numberOfObjects][numberOfWords];
+        for(long[] row : rows) {
+            Arrays.fill(row, -1L);
+            if((numberOfObjects & 63) != 0) {
+                row[numberOfWords - 1] = (1L << numberOfObjects) - 1;
+            }
+        }
+        return rows;
+    }
+
+    private static void and(long[] row, long[] bits) {
+        for(int w = 0; w < row.length; w++) {
+            row[w] &= bits[w];
+        }
+    }
+
+    private static void intersect(long[][] rows, IntArrayList group, long[] bits) {
+        for(int i = 0; i < group.size(); i++) {
+            and(rows[group.getInt(i)], bits);
+        }
+    }
+
+    private static int compare(EvaluationField field1, EvaluationField field2) {
+        if(field1.isAtLeastAsGoodAs(field2) == TernaryLogicValue.TRUE) {
+            return (field2.isAtLeastAsGoodAs(field1) == TernaryLogicValue.TRUE) ? 0 : 1;
+        }
+        return -1;
+    }
+
+    private static void intersectOrderedAttribute(EvaluationField[] fields, long[][] positive, long[][] negative) {
+        int numberOfObjects = fields.length;
+        int numberOfWords = (numberOfObjects + 63) >>> 6;
+
+        int[] order = new int[numberOfObjects];
+        for(int i = 0; i < numberOfObjects; i++) {
+            order[i] = i;
+        }
+        IntArrays.mergeSort(order, (ind1, ind2) -> compare(fields[ind1], fields[ind2]));
+
+        //groups of equal values from the worst to the best
+        int[] groupStarts = new int[numberOfObjects + 1];
+        int numberOfGroups = 0;
+        for(int i = 0; i < numberOfObjects; i++) {
+            if((i == 0) || (compare(fields[order[i - 1]], fields[order[i]]) != 0)) {
+                groupStarts[numberOfGroups++] = i;
+            }
+        }
+        groupStarts[numberOfGroups] = numberOfObjects;
+
+        long[] cumulative = new long[numberOfWords];
+        IntArrayList group = new IntArrayList();
+
+        //negative cone: objects at most as good, sweep from the worst group
+        for(int g = 0; g < numberOfGroups; g++) {
+            group.clear();
+            for(int i = groupStarts[g]; i < groupStarts[g + 1]; i++) {
+                int y = order[i];
+                cumulative[y >>> 6] |= 1L << y;
+                group.add(y);
+            }
+            intersect(negative, group, cumulative);
+        }
+
+        //positive cone: objects at least as good, sweep from the best group
+        Arrays.fill(cumulative, 0L);
+        for(int g = numberOfGroups - 1; g >= 0; g--) {
+            group.clear();
+            for(int i = groupStarts[g]; i < groupStarts[g + 1]; i++) {
+                int y = order[i];
+                cumulative[y >>> 6] |= 1L << y;
+                group.add(y);
+            }
+            intersect(positive, group, cumulative);
+        }
+    }
+
+    private static void intersectNominalAttribute(EvaluationField[] fields, long[][] positive, long[][] negative) {
+        int numberOfObjects = fields.length;
+        int numberOfWords = (numberOfObjects + 63) >>> 6;
+
+        Map<EvaluationField, IntArrayList> groups = new LinkedHashMap<>();
+        for(int i = 0; i < numberOfObjects; i++) {
+            groups.computeIfAbsent(fields[i], field -> new IntArrayList()).add(i);
+        }
+
+        for(IntArrayList group : groups.values()) {
+            long[] bits = new long[numberOfWords];
+            for(int i = 0; i < group.size(); i++) {
+                int y = group.getInt(i);
+                bits[y >>> 6] |= 1L << y;
+            }
+
+            intersect(positive, group, bits);
+            intersect(negative, group, bits);
+        }
+    }
+
+    private static void intersectAttributeWithMissingValues(EvaluationField[] fields, long[][] positive, long[][] negative) {
+        int numberOfObjects = fields.length;
+
+        CalculationsExecutor.parallelFor(numberOfObjects, PAIRWISE_PARALLEL_THRESHOLD, (int x) -> {
+            for(int y = 0; y < numberOfObjects; y++) {
+                long mask = ~(1L << y);
+                if(fields[y].isAtLeastAsGoodAs(fields[x]) != TernaryLogicValue.TRUE) {
+                    positive[x][y >>> 6] &= mask;
+                }
+                if(fields[y].isAtMostAsGoodAs(fields[x]) != TernaryLogicValue.TRUE) {
+                    negative[x][y >>> 6] &= mask;
+                }
+            }
+        });
+    }
+
+    /**
+     * Fills given matrices with positive and negative dominance cones of all objects from the information table.
+     *
+     * @throws AttributeNotFoundException if there are no active condition attributes in the information table
+     */
+    public static void calculateDCones(InformationTable informationTable, DominanceConeMatrix positiveDCones, DominanceConeMatrix negativeDCones) {
+        Table<EvaluationAttribute, EvaluationField> table = informationTable.getActiveConditionAttributeFields();
+        if((table == null) || (table.getNumberOfAttributes() == 0)) {
+            throw new AttributeNotFoundException("There are no active condition attributes in the information table.");
+        }
+
+        int numberOfObjects = table.getNumberOfObjects();
+        long[][] positive = createFullRows(numberOfObjects);
+        long[][] negative = createFullRows(numberOfObjects);
+
+        EvaluationAttribute[] attributes = table.getAttributes();
+        EvaluationField[] fields = new EvaluationField[numberOfObjects];
+        for(int j = 0; j < table.getNumberOfAttributes(); j++) {
+            boolean allKnown = true;
+            for(int i = 0; i < numberOfObjects; i++) {
+                fields[i] = table.getField(i, j);
+                allKnown &= fields[i] instanceof KnownSimpleField;
+            }
+
+            if(!allKnown) {
+                intersectAttributeWithMissingValues(fields, positive, negative);
+            } else if(attributes[j].getPreferenceType() == AttributePreferenceType.NONE) {
+                intersectNominalAttribute(fields, positive, negative);
+            } else {
+                intersectOrderedAttribute(fields, positive, negative);
+            }
+        }
+
+        for(int x = 0; x < numberOfObjects; x++) {
+            positiveDCones.setRow(x, positive[x]);
+            negativeDCones.setRow(x, negative[x]);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pl.put.poznan.rulestudio.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.put.poznan.rulestudio.model.CacheStatistics;
+import pl.put.poznan.rulestudio.service.CacheService;
+
+@CrossOrigin
+@RequestMapping("/cache")
+@RestController
+public class CacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+
+    private final CacheService cacheService;
+
+    @Autowired
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @RequestMapping(value = "/rules", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> getRuleSetCache() {
+        logger.info("Getting rule set cache...");
+        CacheStatistics result = cacheService.getRuleSetCache();
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/rules", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> deleteRuleSetCache() {
+        logger.info("Deleting rule set cache...");
+        CacheStatistics result = cacheService.deleteRuleSetCache();
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/classifiers", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> getClassifierCache() {
+        logger.info("Getting classifier cache...");
+        CacheStatistics result = cacheService.getClassifierCache();
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/classifiers", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> deleteClassifierCache() {
+        logger.info("Deleting classifier cache...");
+        CacheStatistics result = cacheService.deleteClassifierCache();
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/decisionDomains", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> getDecisionDomainCache() {
+        logger.info("Getting decision domain cache...");
+        CacheStatistics result = cacheService.getDecisionDomainCache();
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/decisionDomains", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> deleteDecisionDomainCache() {
+        logger.info("Deleting decision domain cache...");
+        CacheStatistics result = cacheService.deleteDecisionDomainCache();
+        return ResponseEntity.ok(result);
+    }
+}
@@ -7,12 +7,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.put.poznan.rulestudio.enums.ClassifierType;
 import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.model.Classification;
+import pl.put.poznan.rulestudio.model.ClassifiersComparison;
 import pl.put.poznan.rulestudio.service.ClassificationService;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @CrossOrigin
@@ -79,4 +82,29 @@ public class ClassificationController {
 
         return ResponseEntity.ok(result);
     }
+
+    @RequestMapping(value = "/stream", method = RequestMethod.PUT, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> putClassificationStream(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfClassifier") ClassifierType typeOfClassifier,
+            @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
+            @RequestParam(name = "externalDataFile") MultipartFile externalDataFile,
+            @RequestParam(name = "separator", defaultValue = ",") Character separator,
+            @RequestParam(name = "header", defaultValue = "false") Boolean header) throws IOException {
+        logger.info("Putting streamed classification...");
+        StreamingResponseBody result = classificationService.streamClassificationNewData(id, typeOfClassifier, defaultClassificationResult, externalDataFile, separator, header);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(result);
+    }
+
+    @RequestMapping(value = "/comparison", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClassifiersComparison> putClassifiersComparison(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typesOfClassifiers", required = false) List<ClassifierType> typesOfClassifiers,
+            @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult) {
+        logger.info("Putting classifiers comparison...");
+        ClassifiersComparison result = classificationService.putClassifiersComparison(id, typesOfClassifiers, defaultClassificationResult);
+        return ResponseEntity.ok(result);
+    }
 }
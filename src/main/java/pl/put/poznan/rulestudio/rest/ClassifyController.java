@@ -0,0 +1,41 @@
+package pl.put.poznan.rulestudio.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.model.ObjectsClassification;
+import pl.put.poznan.rulestudio.service.ClassificationService;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@CrossOrigin
+@RequestMapping("projects/{id}/classify")
+@RestController
+public class ClassifyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassifyController.class);
+
+    private final ClassificationService classificationService;
+
+    @Autowired
+    public ClassifyController(ClassificationService classificationService) {
+        this.classificationService = classificationService;
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ObjectsClassification> classifyObjects(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfClassifier") ClassifierType typeOfClassifier,
+            @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
+            @RequestBody String data) throws IOException {
+        logger.info("Classifying objects...");
+        ObjectsClassification result = classificationService.classifyObjects(id, typeOfClassifier, defaultClassificationResult, data);
+        return ResponseEntity.ok(result);
+    }
+}
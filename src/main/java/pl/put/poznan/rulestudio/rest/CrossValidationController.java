@@ -6,14 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
 import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.UnionType;
 import pl.put.poznan.rulestudio.model.CrossValidation;
+import pl.put.poznan.rulestudio.model.CrossValidationSingleFold;
+import pl.put.poznan.rulestudio.model.RepeatedCrossValidation;
 import pl.put.poznan.rulestudio.service.CrossValidationService;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @CrossOrigin
@@ -39,6 +44,32 @@ public class CrossValidationController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/fold", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CrossValidationSingleFold> getCrossValidationSingleFold(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "numberOfFold") Integer numberOfFold) {
+        logger.info("Getting cross validation fold...");
+        CrossValidationSingleFold result = crossValidationService.getCrossValidationSingleFold(id, numberOfFold);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/stream", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getCrossValidationStream(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "typeOfClassifier") ClassifierType typeOfClassifier,
+            @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed,
+            @RequestParam(name = "retention", defaultValue = "full") CrossValidationRetentionType retention) {
+        logger.info("Streaming cross validation...");
+
+        return crossValidationService.streamCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention);
+    }
+
     @RequestMapping(method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<CrossValidation> putCrossValidation(
             @PathVariable("id") UUID id,
@@ -48,10 +79,11 @@ public class CrossValidationController {
             @RequestParam(name = "typeOfClassifier") ClassifierType typeOfClassifier,
             @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
             @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
-            @RequestParam(name = "seed", defaultValue = "0") Long seed) {
+            @RequestParam(name = "seed", defaultValue = "0") Long seed,
+            @RequestParam(name = "retention", defaultValue = "full") CrossValidationRetentionType retention) {
         logger.info("Putting cross validation...");
 
-        CrossValidation result = crossValidationService.putCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed);
+        CrossValidation result = crossValidationService.putCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention);
 
         return ResponseEntity.ok(result);
     }
@@ -66,11 +98,31 @@ public class CrossValidationController {
             @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
             @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
             @RequestParam(name = "seed", defaultValue = "0") Long seed,
+            @RequestParam(name = "retention", defaultValue = "full") CrossValidationRetentionType retention,
             @RequestParam(name = "metadata") String metadata,
             @RequestParam(name = "data") String data) throws IOException {
         logger.info("Posting cross validation...");
 
-        CrossValidation result = crossValidationService.postCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, metadata, data);
+        CrossValidation result = crossValidationService.postCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention, metadata, data);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/repeated", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RepeatedCrossValidation> putRepeatedCrossValidation(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "typeOfClassifier") ClassifierType typeOfClassifier,
+            @RequestParam(name = "defaultClassificationResult") DefaultClassificationResultType defaultClassificationResult,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seeds", required = false) List<Long> seeds,
+            @RequestParam(name = "numberOfRepeats", required = false) Integer numberOfRepeats,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed) {
+        logger.info("Putting repeated cross validation...");
+
+        RepeatedCrossValidation result = crossValidationService.putRepeatedCrossValidation(id, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seeds, numberOfRepeats, seed);
 
         return ResponseEntity.ok(result);
     }
@@ -6,7 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pl.put.poznan.rulestudio.enums.DominanceConesAlgorithm;
 import pl.put.poznan.rulestudio.model.DominanceCones;
+import pl.put.poznan.rulestudio.model.ObjectDominanceCones;
 import pl.put.poznan.rulestudio.service.DominanceConesService;
 
 import java.io.IOException;
@@ -36,12 +38,24 @@ public class DominanceConesController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/{objectIndex}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ObjectDominanceCones> getObjectDominanceCones(
+            @PathVariable("id") UUID id,
+            @PathVariable("objectIndex") Integer objectIndex) {
+        logger.info("Getting dominance cones of object...");
+
+        ObjectDominanceCones result = dominanceConesService.getObjectDominanceCones(id, objectIndex);
+
+        return ResponseEntity.ok(result);
+    }
+
     @RequestMapping(method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<DominanceCones> putDominanceCones(
-            @PathVariable("id") UUID id) {
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "algorithm", defaultValue = "rulelearn") DominanceConesAlgorithm algorithm) {
         logger.info("Putting dominance cones...");
 
-        DominanceCones result = dominanceConesService.putDominanceCones(id);
+        DominanceCones result = dominanceConesService.putDominanceCones(id, algorithm);
 
         return ResponseEntity.ok(result);
     }
@@ -49,11 +63,12 @@ public class DominanceConesController {
     @RequestMapping(method = RequestMethod.POST, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<DominanceCones> postDominanceCones(
             @PathVariable("id") UUID id,
+            @RequestParam(name = "algorithm", defaultValue = "rulelearn") DominanceConesAlgorithm algorithm,
             @RequestParam(name = "metadata") String metadata,
             @RequestParam(name = "data") String data) throws IOException {
         logger.info("Posting dominance cones...");
 
-        DominanceCones result = dominanceConesService.postDominanceCones(id, metadata, data);
+        DominanceCones result = dominanceConesService.postDominanceCones(id, algorithm, metadata, data);
 
         return ResponseEntity.ok(result);
     }
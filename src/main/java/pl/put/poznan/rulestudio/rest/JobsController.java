@@ -0,0 +1,58 @@
+package pl.put.poznan.rulestudio.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.model.CalculationJob;
+import pl.put.poznan.rulestudio.service.JobsService;
+
+import java.util.UUID;
+
+@CrossOrigin
+@RequestMapping("projects/{id}/jobs")
+@RestController
+public class JobsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobsController.class);
+
+    private final JobsService jobsService;
+
+    @Autowired
+    public JobsController(JobsService jobsService) {
+        this.jobsService = jobsService;
+    }
+
+    @RequestMapping(value = "/rules", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJob> putRulesJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules) {
+        logger.info("Submitting rules job...");
+        CalculationJob result = jobsService.putRulesJob(id, typeOfUnions, consistencyThreshold, typeOfRules);
+        return ResponseEntity.accepted().body(result);
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJob> getJob(
+            @PathVariable("id") UUID id,
+            @PathVariable("jobId") UUID jobId) {
+        logger.info("Getting job...");
+        CalculationJob result = jobsService.getJob(id, jobId);
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJob> deleteJob(
+            @PathVariable("id") UUID id,
+            @PathVariable("jobId") UUID jobId) {
+        logger.info("Deleting job...");
+        CalculationJob result = jobsService.deleteJob(id, jobId);
+        return ResponseEntity.ok(result);
+    }
+}
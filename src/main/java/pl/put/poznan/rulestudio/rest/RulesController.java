@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.enums.RuleField;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.RulesFormat;
 import pl.put.poznan.rulestudio.enums.UnionType;
@@ -20,6 +21,7 @@ import pl.put.poznan.rulestudio.service.RulesService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -41,9 +43,13 @@ public class RulesController {
     public ResponseEntity<RulesWithHttpParameters> getRules (
             @PathVariable("id") UUID id,
             @RequestParam(name = "orderBy", defaultValue = "none") OrderByRuleCharacteristic orderBy,
-            @RequestParam(name = "desc", defaultValue = "true") Boolean desc) {
+            @RequestParam(name = "desc", defaultValue = "true") Boolean desc,
+            @RequestParam(name = "offset", defaultValue = "0") Integer offset,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "filter", required = false) List<String> filters,
+            @RequestParam(name = "fields", required = false) List<RuleField> fields) {
         logger.info("Getting rules...");
-        RulesWithHttpParameters result = rulesService.getRules(id, orderBy, desc);
+        RulesWithHttpParameters result = rulesService.getRules(id, orderBy, desc, offset, limit, filters, fields);
         return ResponseEntity.ok(result);
     }
 
@@ -0,0 +1,39 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bounded pool of threads running calculations that outlive the request which started them, i.e., background jobs and streamed calculations.
+ * Calculations split their work further between threads of {@link CalculationsExecutor}.
+ */
+@Component
+public class BackgroundExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundExecutor.class);
+
+    private final ExecutorService executor;
+
+    /**
+     * @param calculationSettings settings applied before the size of the pool is read from {@link CalculationsExecutor}
+     */
+    public BackgroundExecutor(CalculationSettings calculationSettings) {
+        executor = Executors.newFixedThreadPool(CalculationsExecutor.getParallelism());
+        logger.info("Background executor:\tnumberOfThreads={}", CalculationsExecutor.getParallelism());
+    }
+
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
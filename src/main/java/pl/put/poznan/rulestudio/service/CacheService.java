@@ -0,0 +1,64 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pl.put.poznan.rulestudio.model.CacheStatistics;
+import pl.put.poznan.rulestudio.model.ClassifierCache;
+import pl.put.poznan.rulestudio.model.DecisionDomainCache;
+import pl.put.poznan.rulestudio.model.RuleSetCache;
+
+@Service
+public class CacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
+
+    @Autowired
+    RuleSetCache ruleSetCache;
+
+    @Autowired
+    ClassifierCache classifierCache;
+
+    @Autowired
+    DecisionDomainCache decisionDomainCache;
+
+    public CacheStatistics getRuleSetCache() {
+        CacheStatistics cacheStatistics = ruleSetCache.getStatistics();
+        logger.debug("ruleSetCache:\t{}", cacheStatistics);
+        return cacheStatistics;
+    }
+
+    public CacheStatistics deleteRuleSetCache() {
+        ruleSetCache.clear();
+
+        logger.info("Rule set cache cleared.");
+        return ruleSetCache.getStatistics();
+    }
+
+    public CacheStatistics getClassifierCache() {
+        CacheStatistics cacheStatistics = classifierCache.getStatistics();
+        logger.debug("classifierCache:\t{}", cacheStatistics);
+        return cacheStatistics;
+    }
+
+    public CacheStatistics deleteClassifierCache() {
+        classifierCache.clear();
+
+        logger.info("Classifier cache cleared.");
+        return classifierCache.getStatistics();
+    }
+
+    public CacheStatistics getDecisionDomainCache() {
+        CacheStatistics cacheStatistics = decisionDomainCache.getStatistics();
+        logger.debug("decisionDomainCache:\t{}", cacheStatistics);
+        return cacheStatistics;
+    }
+
+    public CacheStatistics deleteDecisionDomainCache() {
+        decisionDomainCache.clear();
+
+        logger.info("Decision domain cache cleared.");
+        return decisionDomainCache.getStatistics();
+    }
+}
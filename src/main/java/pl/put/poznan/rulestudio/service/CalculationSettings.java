@@ -0,0 +1,36 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.put.poznan.rulestudio.model.DominanceCones;
+import pl.put.poznan.rulestudio.model.ObjectDominanceConesCache;
+
+/**
+ * Passes settings of calculations from application properties to classes that read them in static methods.
+ * Classes used without the application context, e.g. in tests, keep defaults of these settings.
+ */
+@Component
+public class CalculationSettings {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationSettings.class);
+
+    public CalculationSettings(
+            @Value("${rulestudio.calculations.parallelism:0}") int parallelism,
+            @Value("${rulestudio.classification.parallel-threshold:1024}") int parallelClassificationThreshold,
+            @Value("${rulestudio.classification.rule-index-threshold:128}") int ruleIndexThreshold,
+            @Value("${rulestudio.classification.stream-chunk-size:4096}") int streamChunkSize,
+            @Value("${rulestudio.dominance-cones.parallel-threshold:512}") int parallelDominanceConesThreshold,
+            @Value("${rulestudio.dominance-cones.object-cache-size:1024}") int objectDominanceConesCacheSize) {
+        CalculationsExecutor.setParallelism(parallelism);
+        ClassificationService.setParallelClassificationThreshold(parallelClassificationThreshold);
+        ClassificationService.setRuleIndexThreshold(ruleIndexThreshold);
+        ClassificationService.setStreamChunkSize(streamChunkSize);
+        DominanceCones.setParallelCalculationThreshold(parallelDominanceConesThreshold);
+        ObjectDominanceConesCache.setMaxNumberOfObjects(objectDominanceConesCacheSize);
+
+        logger.info("Calculation settings:\tparallelClassificationThreshold={}, ruleIndexThreshold={}, streamChunkSize={}, parallelDominanceConesThreshold={}, objectDominanceConesCacheSize={}",
+                parallelClassificationThreshold, ruleIndexThreshold, streamChunkSize, parallelDominanceConesThreshold, objectDominanceConesCacheSize);
+    }
+}
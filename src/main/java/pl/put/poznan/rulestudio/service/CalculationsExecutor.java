@@ -0,0 +1,152 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Bounded pool shared by all calculations that can be split into independent tasks.
+ * Size of the pool is set from property "rulestudio.calculations.parallelism" by {@link CalculationSettings} (number of available processors by default).
+ */
+public final class CalculationsExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationsExecutor.class);
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static volatile int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private static volatile ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    private CalculationsExecutor() {
+    }
+
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    public static boolean isParallelismAvailable() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Replaces the pool with a new one of given size. Calculations already running finish in the previous pool, which is then shut down.
+     *
+     * @param newParallelism size of the pool, zero or less means the number of available processors
+     */
+    static synchronized void setParallelism(int newParallelism) {
+        if(newParallelism <= 0) {
+            newParallelism = Runtime.getRuntime().availableProcessors();
+        }
+        logger.info("Parallelism of calculations:\t{}", newParallelism);
+        if(newParallelism == parallelism) {
+            return;
+        }
+
+        ForkJoinPool previousPool = pool;
+        pool = new ForkJoinPool(newParallelism);
+        parallelism = newParallelism;
+        previousPool.shutdown();
+    }
+
+    /**
+     * Runs given tasks in the pool and waits for all of them.
+     * Tasks started from a thread of the pool are forked in that pool, so nested calculations don't block each other.
+     *
+     * @return results of tasks in the same order as tasks were given
+     */
+    public static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<ForkJoinTask<T>> forkJoinTasks = new ArrayList<>(tasks.size());
+        for(Callable<T> task : tasks) {
+            forkJoinTasks.add(ForkJoinTask.adapt(task));
+        }
+
+        if(ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(forkJoinTasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(forkJoinTasks);
+                }
+            });
+        }
+
+        List<T> results = new ArrayList<>(forkJoinTasks.size());
+        for(ForkJoinTask<T> forkJoinTask : forkJoinTasks) {
+            results.add(forkJoinTask.join());
+        }
+        return results;
+    }
+
+    /**
+     * Runs given tasks in the pool, so that at most given number of them run at the same time, and waits for all of them.
+     * That many workers take next tasks one by one, so a new task starts as soon as any other ends and none of the workers waits for the slowest task of a batch.
+     *
+     * @return results of tasks in the same order as tasks were given
+     */
+    public static <T> List<T> invokeAll(List<Callable<T>> tasks, int maxTasksInParallel) {
+        int numberOfWorkers = Math.min(tasks.size(), Math.max(1, maxTasksInParallel));
+        if(numberOfWorkers == tasks.size()) {
+            return invokeAll(tasks);
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        for(int i = 0; i < tasks.size(); i++) {
+            results.add(null);
+        }
+
+        AtomicInteger nextTask = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>(numberOfWorkers);
+        for(int worker = 0; worker < numberOfWorkers; worker++) {
+            workers.add(() -> {
+                int task;
+                while((task = nextTask.getAndIncrement()) < tasks.size()) {
+                    //each task has its own position in the list, which isn't resized, and results are read only after all workers are joined
+                    results.set(task, tasks.get(task).call());
+                }
+                return null;
+            });
+        }
+
+        invokeAll(workers);
+        return results;
+    }
+
+    /**
+     * Calls given body for each index from 0 (inclusive) to size (exclusive). Indices are split into contiguous chunks processed in the pool,
+     * unless size is smaller than given threshold - then all indices are processed sequentially in the calling thread.
+     * Body must be safe to call concurrently for different indices.
+     */
+    public static void parallelFor(int size, int threshold, IntConsumer body) {
+        if((size < threshold) || (!isParallelismAvailable())) {
+            for(int i = 0; i < size; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+
+        int numberOfChunks = Math.min(size, parallelism * CHUNKS_PER_THREAD);
+        List<Callable<Void>> tasks = new ArrayList<>(numberOfChunks);
+        for(int chunk = 0; chunk < numberOfChunks; chunk++) {
+            final int from = (int)((long)size * chunk / numberOfChunks);
+            final int to = (int)((long)size * (chunk + 1) / numberOfChunks);
+            tasks.add(() -> {
+                for(int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return null;
+            });
+        }
+
+        invokeAll(tasks);
+    }
+}
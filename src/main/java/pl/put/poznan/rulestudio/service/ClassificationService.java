@@ -1,10 +1,14 @@
 package pl.put.poznan.rulestudio.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.rulelearn.classification.*;
 import org.rulelearn.core.TernaryLogicValue;
 import org.rulelearn.data.*;
+import org.rulelearn.rules.BasicRuleCoverageInformation;
 import org.rulelearn.rules.Rule;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.rulelearn.types.EvaluationField;
@@ -15,26 +19,82 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.put.poznan.rulestudio.enums.ClassifierType;
 import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.exception.*;
 import pl.put.poznan.rulestudio.model.Classification;
+import pl.put.poznan.rulestudio.model.ClassifierCache;
+import pl.put.poznan.rulestudio.model.ClassifiersComparison;
+import pl.put.poznan.rulestudio.model.DecisionDomainCache;
+import pl.put.poznan.rulestudio.model.IndicesOfCoveringRules;
+import pl.put.poznan.rulestudio.model.ObjectsClassification;
+import pl.put.poznan.rulestudio.model.OnlineMisclassificationMatrix;
 import pl.put.poznan.rulestudio.model.Project;
 import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.model.RuleConditionIndex;
+import pl.put.poznan.rulestudio.model.SharedCoverage;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 @Service
 public class ClassificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClassificationService.class);
 
+    /**
+     * Smaller testing tables are always classified sequentially.
+     * Threshold is set from property "rulestudio.classification.parallel-threshold" by {@link CalculationSettings}.
+     */
+    private static volatile int parallelClassificationThreshold = 1024;
+
+    /**
+     * Rule sets with at least that many rules are classified with {@link RuleConditionIndex}, smaller ones check all rules directly.
+     * Threshold is set from property "rulestudio.classification.rule-index-threshold" by {@link CalculationSettings}.
+     */
+    private static volatile int ruleIndexThreshold = 128;
+
+    /**
+     * Number of rows of an external file read, classified and written at once in streaming classification.
+     * It is set from property "rulestudio.classification.stream-chunk-size" by {@link CalculationSettings}.
+     */
+    private static volatile int streamChunkSize = 4096;
+
+    static void setParallelClassificationThreshold(int parallelClassificationThreshold) {
+        ClassificationService.parallelClassificationThreshold = parallelClassificationThreshold;
+    }
+
+    static void setRuleIndexThreshold(int ruleIndexThreshold) {
+        ClassificationService.ruleIndexThreshold = ruleIndexThreshold;
+    }
+
+    static void setStreamChunkSize(int streamChunkSize) {
+        ClassificationService.streamChunkSize = Math.max(1, streamChunkSize);
+    }
+
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    ClassifierCache classifierCache;
+
+    @Autowired
+    DecisionDomainCache decisionDomainCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     public static Classification getClassificationFromProject(Project project) {
         Classification classification = project.getClassification();
         if(classification == null) {
@@ -46,105 +106,66 @@ public class ClassificationService {
         return classification;
     }
 
+    private static EvaluationField getDecisionEvaluation(Decision decision) {
+        return decision.getEvaluation(decision.getAttributeIndices().iterator().nextInt()); //assumption that there is only one decision attribute
+    }
+
+    private static void addUniqueFullyDeterminedDecision(Decision decision, Map<EvaluationField, Decision> uniqueDecisions) {
+        if(decision.hasNoMissingEvaluation()) {
+            uniqueDecisions.putIfAbsent(getDecisionEvaluation(decision), decision);
+        }
+    }
+
+    /**
+     * Orders unique fully determined decisions from the information table and from the rule set, comparing them with accuracy to evaluation field (without attribute index).
+     * Worse decisions come first, incomparable decisions are kept in the order of their first occurrence, decisions from the information table before decisions of rules.
+     *
+     * @param ruleSetWithCharacteristics rule set whose decisions are added to decisions from the information table, or null
+     */
     private static Decision[] induceOrderedUniqueFullyDeterminedDecisions(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable informationTable) {
-        List<Decision> allDecisions = new ArrayList<>();
+        Map<EvaluationField, Decision> uniqueDecisions = new LinkedHashMap<>();
 
         Decision[] informationTableDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
         if(informationTableDecisions != null) {
-            for(int i = 0; i < informationTableDecisions.length; i++) {
-                allDecisions.add(informationTableDecisions[i]);
+            for(Decision decision : informationTableDecisions) {
+                addUniqueFullyDeterminedDecision(decision, uniqueDecisions);
             }
         }
 
-        for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
-            Rule rule = ruleSetWithCharacteristics.getRule(i);
-            allDecisions.add(new SimpleDecision(rule.getDecision().getLimitingEvaluation(), rule.getDecision().getAttributeWithContext().getAttributeIndex()));
-        }
-
-
-        if (allDecisions.size() < 1) {
-            return allDecisions.toArray(new Decision[0]);
-        }
-
-        ArrayList<Decision> orderedUniqueFullyDeterminedDecisionsList = new ArrayList<Decision>();
-
-        //Similar generating ordered unique fully determined array of decisions, but comparison of decision is done with accuracy to evaluation field (without attribute index)
-        //auxiliary variables
-        Decision candidateDecision;
-        Decision alreadyPresentDecision;
-        boolean iterate;
-        int decisionIndex;
-        EvaluationField candidateDecisionEvaluationField;
-        EvaluationField alreadyPresentDecisionEvaluationField;
-
-        //create sorted list of decisions:
-
-        //extract first fully-determined decision (if there is any)
-        int startingIndex = allDecisions.size(); //make sure that if there is no fully-determined decision, so first such decision could not be found, then next such decisions would not be searched for
-        for (int i = 0; i < allDecisions.size(); i++) {
-            //current decision is fully-determined
-            if (allDecisions.get(i).hasNoMissingEvaluation()) {
-                orderedUniqueFullyDeterminedDecisionsList.add(allDecisions.get(i));
-                startingIndex = i + 1;
-                break; //first fully-determined decision found
+        if(ruleSetWithCharacteristics != null) {
+            for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
+                Rule rule = ruleSetWithCharacteristics.getRule(i);
+                EvaluationField limitingEvaluation = rule.getDecision().getLimitingEvaluation();
+                if(!uniqueDecisions.containsKey(limitingEvaluation)) {
+                    addUniqueFullyDeterminedDecision(new SimpleDecision(limitingEvaluation, rule.getDecision().getAttributeWithContext().getAttributeIndex()), uniqueDecisions);
+                }
             }
         }
 
-        //iterate through objects and extract next unique fully-determined decisions, retaining respective order of comparable decisions
-        for (int i = startingIndex; i < allDecisions.size(); i++) {
-            candidateDecision = allDecisions.get(i);
-
-            //verify if candidate decision satisfies loop entry condition of being fully-determined
-            if (candidateDecision.hasNoMissingEvaluation()) {
-                iterate = true;
-                decisionIndex = 0;
-
-                while (iterate) {
-                    alreadyPresentDecision = orderedUniqueFullyDeterminedDecisionsList.get(decisionIndex);
-                    candidateDecisionEvaluationField = candidateDecision.getEvaluation(candidateDecision.getAttributeIndices().iterator().nextInt());
-                    alreadyPresentDecisionEvaluationField = alreadyPresentDecision.getEvaluation(alreadyPresentDecision.getAttributeIndices().iterator().nextInt());
-                    //candidate decision has identical evaluation field to compared decision from the list
-                    if (candidateDecisionEvaluationField.equals(alreadyPresentDecisionEvaluationField)) {
-                        //ignore candidate decision since it is already present in the list of decisions
-                        iterate = false;
-                    }
-                    //candidate decision is different than compared decision from the list
-                    else {
-                        //candidate decision is worse than compared decision from the list
-                        if (candidateDecision.isAtMostAsGoodAs(alreadyPresentDecision) == TernaryLogicValue.TRUE) {
-                            //insert candidate decision into appropriate position and shift following elements forward
-                            orderedUniqueFullyDeterminedDecisionsList.add(decisionIndex, candidateDecision);
-                            iterate = false;
-                        }
-                        //candidate decision is better than compared decision from the list
-                        //or is incomparable with the compared decision from the list
-                        else {
-                            //there is no next decision on the list
-                            if (decisionIndex == orderedUniqueFullyDeterminedDecisionsList.size() - 1) {
-                                //append candidate decision to the end of the list
-                                orderedUniqueFullyDeterminedDecisionsList.add(candidateDecision);
-                                iterate = false;
-                            }
-                            //there is next decision on the list
-                            else {
-                                decisionIndex++; //go to next decision from the list
-                            } //else
-                        } //else
-                    } //else
-                } //while
-            } //if
-        } //for
-
-        //create returned array of decisions
-        int decisionsCount = orderedUniqueFullyDeterminedDecisionsList.size();
-        Decision[] orderedUniqueFullyDeterminedDecisions = new Decision[decisionsCount];
-
-        for (int i = 0; i < decisionsCount; i++)
-            orderedUniqueFullyDeterminedDecisions[i] = orderedUniqueFullyDeterminedDecisionsList.get(i);
-
-        return orderedUniqueFullyDeterminedDecisions;
+        //stable sort, so incomparable decisions (of a decision attribute without preference) keep the order of their first occurrence
+        List<Decision> orderedUniqueFullyDeterminedDecisionsList = new ArrayList<>(uniqueDecisions.values());
+        orderedUniqueFullyDeterminedDecisionsList.sort((decision, otherDecision) -> {
+            if(decision.isAtMostAsGoodAs(otherDecision) == TernaryLogicValue.TRUE) {
+                return -1;
+            }
+            if(otherDecision.isAtMostAsGoodAs(decision) == TernaryLogicValue.TRUE) {
+                return 1;
+            }
+            return 0;
+        });
 
+        return orderedUniqueFullyDeterminedDecisionsList.toArray(new Decision[0]);
+    }
 
+    /**
+     * Returns ordered decision domain of the rule set and the information table, calculated once for given hashes of both.
+     *
+     * @param ruleSetWithCharacteristics rule set whose decisions are added to decisions from the information table, or null
+     */
+    public static Decision[] getOrderOfDecisions(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable informationTable, DecisionDomainCache decisionDomainCache) {
+        String ruleSetHash = (ruleSetWithCharacteristics == null) ? null : ruleSetWithCharacteristics.getHash();
+        return decisionDomainCache.getOrCalculate(ruleSetHash, informationTable.getHash(),
+                () -> induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, informationTable));
     }
 
     private static SimpleEvaluatedClassificationResult createDefaultSimpleEvaluatedClassificationResult(DefaultClassificationResultType defaultClassificationResult, InformationTable informationTable) {
@@ -238,14 +259,23 @@ public class ClassificationService {
         logger.info("Learning information table and rule set are compatible.");
     }
 
-    public static Classification calculateClassification(InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions) {
-        if(logger.isDebugEnabled()) {
-            logger.debug("RuleSet size = {}", ruleSetWithCharacteristics.size());
-            for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
-                logger.debug("\tRegula nr {}:\t{}", i, ruleSetWithCharacteristics.getRule(i));
-            }
+    /**
+     * @return index of conditions of the rule set or null, if the rule set has fewer rules than {@link #ruleIndexThreshold} and its rules are checked directly
+     */
+    private static RuleConditionIndex createRuleConditionIndex(RuleSetWithCharacteristics ruleSetWithCharacteristics) {
+        if(ruleSetWithCharacteristics.size() < ruleIndexThreshold) {
+            return null;
         }
 
+        RuleConditionIndex ruleConditionIndex = new RuleConditionIndex(ruleSetWithCharacteristics);
+        logger.info("Finding covering rules with rule condition index:\t{}", ruleConditionIndex);
+        return ruleConditionIndex;
+    }
+
+    /**
+     * Creates classifier of given type using exactly the given rule set.
+     */
+    private static RuleClassifier instantiateClassifier(InformationTable learningInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics classifiedRuleSet) {
         SimpleClassificationResult simpleClassificationResult = null;
         SimpleEvaluatedClassificationResult simpleEvaluatedClassificationResult = null;
 
@@ -254,22 +284,19 @@ public class ClassificationService {
         switch (typeOfClassifier) {
             case SIMPLE_RULE_CLASSIFIER:
                 simpleClassificationResult = createDefaultSimpleClassificationResult(typeOfDefaultClassificationResult, learningInformationTable);
-                classifier = new SimpleRuleClassifier(ruleSetWithCharacteristics, simpleClassificationResult);
+                classifier = new SimpleRuleClassifier(classifiedRuleSet, simpleClassificationResult);
                 break;
             case SIMPLE_OPTIMIZING_COUNTING_RULE_CLASSIFIER:
                 simpleClassificationResult = createDefaultSimpleClassificationResult(typeOfDefaultClassificationResult, learningInformationTable);
-                checkLearningInformationTableCompatibility(learningInformationTable, ruleSetWithCharacteristics);
-                classifier = new SimpleOptimizingCountingRuleClassifier(ruleSetWithCharacteristics, simpleClassificationResult, learningInformationTable);
+                classifier = new SimpleOptimizingCountingRuleClassifier(classifiedRuleSet, simpleClassificationResult, learningInformationTable);
                 break;
             case SCORING_RULE_CLASSIFIER_SCORE:
                 simpleEvaluatedClassificationResult = createDefaultSimpleEvaluatedClassificationResult(typeOfDefaultClassificationResult, learningInformationTable);
-                checkLearningInformationTableCompatibility(learningInformationTable, ruleSetWithCharacteristics);
-                classifier = new ScoringRuleClassifier(ruleSetWithCharacteristics, simpleEvaluatedClassificationResult, ScoringRuleClassifier.Mode.SCORE, learningInformationTable);
+                classifier = new ScoringRuleClassifier(classifiedRuleSet, simpleEvaluatedClassificationResult, ScoringRuleClassifier.Mode.SCORE, learningInformationTable);
                 break;
             case SCORING_RULE_CLASSIFIER_HYBRID:
                 simpleEvaluatedClassificationResult = createDefaultSimpleEvaluatedClassificationResult(typeOfDefaultClassificationResult, learningInformationTable);
-                checkLearningInformationTableCompatibility(learningInformationTable, ruleSetWithCharacteristics);
-                classifier = new ScoringRuleClassifier(ruleSetWithCharacteristics, simpleEvaluatedClassificationResult, ScoringRuleClassifier.Mode.HYBRID, learningInformationTable);
+                classifier = new ScoringRuleClassifier(classifiedRuleSet, simpleEvaluatedClassificationResult, ScoringRuleClassifier.Mode.HYBRID, learningInformationTable);
                 break;
             default:
                 WrongParameterException ex = new WrongParameterException(String.format("Given type of classifier \"%s\" is unrecognized.", typeOfClassifier));
@@ -277,21 +304,126 @@ public class ClassificationService {
                 throw ex;
         }
 
+        return classifier;
+    }
+
+    /**
+     * Returns shared coverage of the rule set together with the index of its conditions, taken from the cache if it is given, so the index is built once for each rule set.
+     */
+    private static SharedCoverage prepareSharedCoverage(RuleSetWithCharacteristics ruleSetWithCharacteristics, ClassifierCache classifierCache) {
+        if(classifierCache == null) {
+            return new SharedCoverage(ruleSetWithCharacteristics, createRuleConditionIndex(ruleSetWithCharacteristics));
+        }
+        return classifierCache.getOrCreateSharedCoverage(ruleSetWithCharacteristics.getHash(),
+                () -> new SharedCoverage(ruleSetWithCharacteristics, createRuleConditionIndex(ruleSetWithCharacteristics)));
+    }
+
+    /**
+     * Checks if the rule set of the shared coverage can be used by classifier of given type and returns such classifier, taken from the cache if it is given.
+     * Classifier uses rules of the shared coverage, so it doesn't depend on the classified table and the same classifier serves all classifications with the same model.
+     */
+    private static RuleClassifier prepareClassifier(InformationTable learningInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, SharedCoverage sharedCoverage, ClassifierCache classifierCache) {
+        if(typeOfClassifier != ClassifierType.SIMPLE_RULE_CLASSIFIER) {
+            checkLearningInformationTableCompatibility(learningInformationTable, sharedCoverage.getOriginalRuleSet());
+        }
+
+        if(classifierCache == null) {
+            return instantiateClassifier(learningInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, sharedCoverage.getRuleSet());
+        }
+        return classifierCache.getOrCreate(sharedCoverage, learningInformationTable.getHash(), typeOfClassifier, typeOfDefaultClassificationResult,
+                () -> instantiateClassifier(learningInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, sharedCoverage.getRuleSet()));
+    }
+
+    /**
+     * Returns rules covering each object of the testing information table, if they are stored in the rule set or can be found with the rule condition index
+     * of the shared coverage. Returns null, if the classifier has to check all rules directly.
+     */
+    private static IndicesOfCoveringRules findIndicesOfCoveringRules(InformationTable learningInformationTable, InformationTable testingInformationTable, SharedCoverage sharedCoverage, boolean parallelClassification) {
+        IndicesOfCoveringRules indicesOfCoveringRules = getStoredIndicesOfCoveringRules(sharedCoverage.getOriginalRuleSet(), learningInformationTable, testingInformationTable);
+        if((indicesOfCoveringRules == null) && (sharedCoverage.getRuleConditionIndex() != null)) {
+            indicesOfCoveringRules = calculateIndicesOfCoveringRules(sharedCoverage.getOriginalRuleSet(), testingInformationTable, sharedCoverage.getRuleConditionIndex(), parallelClassification);
+        }
+        return indicesOfCoveringRules;
+    }
+
+    public static Classification calculateClassification(InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions) {
+        return calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, CalculationsExecutor.isParallelismAvailable());
+    }
+
+    public static Classification calculateClassification(InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, ClassifierCache classifierCache) {
+        return calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, CalculationsExecutor.isParallelismAvailable(), classifierCache);
+    }
+
+    public static Classification calculateClassification(InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, boolean parallelClassification) {
+        return calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, parallelClassification, null);
+    }
+
+    /**
+     * Classifies all objects from the testing information table. In parallel classification mode objects are split between threads of {@link CalculationsExecutor},
+     * unless there are fewer of them than {@link #parallelClassificationThreshold}. Each object is classified independently, so the result doesn't depend on the mode.
+     * If classifier cache is given, prepared classifier and the rule condition index are taken from it or added to it, and only covering rules of the classified objects
+     * are found for this call.
+     */
+    public static Classification calculateClassification(InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, boolean parallelClassification, ClassifierCache classifierCache) {
+        if(logger.isDebugEnabled()) {
+            logger.debug("RuleSet size = {}", ruleSetWithCharacteristics.size());
+            for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
+                logger.debug("\tRegula nr {}:\t{}", i, ruleSetWithCharacteristics.getRule(i));
+            }
+        }
+
+        SharedCoverage sharedCoverage = prepareSharedCoverage(ruleSetWithCharacteristics, classifierCache);
+        RuleClassifier classifier = prepareClassifier(learningInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, sharedCoverage, classifierCache);
+        IndicesOfCoveringRules indicesOfCoveringRules = findIndicesOfCoveringRules(learningInformationTable, testingInformationTable, sharedCoverage, parallelClassification);
+        sharedCoverage.register(testingInformationTable, indicesOfCoveringRules);
+        try {
+            return classifyAllObjects(classifier, learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, parallelClassification);
+        } finally {
+            sharedCoverage.unregister(testingInformationTable, indicesOfCoveringRules);
+        }
+    }
+
+    private static Classification classifyAllObjects(RuleClassifier classifier, InformationTable learningInformationTable, InformationTable testingInformationTable, ClassifierType typeOfClassifier, DefaultClassificationResultType typeOfDefaultClassificationResult, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, boolean parallelClassification) {
         int objectIndex;
         int objectCount = testingInformationTable.getNumberOfObjects();
-        IntList[] indicesOfCoveringRules = new IntList[objectCount];
+        IndicesOfCoveringRules.Builder indicesOfCoveringRulesBuilder = new IndicesOfCoveringRules.Builder(objectCount);
 
         ClassificationResult[] classificationResults = new ClassificationResult[objectCount];
-        for (objectIndex = 0; objectIndex < classificationResults.length; objectIndex++) {
-            indicesOfCoveringRules[objectIndex] = new IntArrayList();
-            classificationResults[objectIndex] = classifier.classify(objectIndex, testingInformationTable, indicesOfCoveringRules[objectIndex]);
+        if((parallelClassification) && (objectCount >= parallelClassificationThreshold)) {
+            final RuleClassifier sharedClassifier = classifier;
+            int[][] coveringRules = new int[objectCount][];
+
+            //first object is classified alone, so everything the classifier and rules initialize lazily is ready before they are shared between threads
+            IntList firstObjectCoveringRules = new IntArrayList();
+            classificationResults[0] = sharedClassifier.classify(0, testingInformationTable, firstObjectCoveringRules);
+            coveringRules[0] = firstObjectCoveringRules.toIntArray();
+
+            logger.info("Classifying objects in parallel, number of objects:\t{}", objectCount);
+            CalculationsExecutor.parallelFor(objectCount - 1, 0, (int i) -> {
+                IntList objectCoveringRules = new IntArrayList();
+                classificationResults[i + 1] = sharedClassifier.classify(i + 1, testingInformationTable, objectCoveringRules);
+                coveringRules[i + 1] = objectCoveringRules.toIntArray();
+            });
+
+            for (objectIndex = 0; objectIndex < objectCount; objectIndex++) {
+                indicesOfCoveringRulesBuilder.add(coveringRules[objectIndex]);
+                coveringRules[objectIndex] = null;
+            }
+        } else {
+            IntList objectCoveringRules = new IntArrayList();
+            for (objectIndex = 0; objectIndex < classificationResults.length; objectIndex++) {
+                objectCoveringRules.clear();
+                classificationResults[objectIndex] = classifier.classify(objectIndex, testingInformationTable, objectCoveringRules);
+                indicesOfCoveringRulesBuilder.add(objectCoveringRules);
+            }
         }
+        IndicesOfCoveringRules indicesOfCoveringRules = indicesOfCoveringRulesBuilder.build();
 
         if(logger.isDebugEnabled()) {
             for(objectIndex = 0; objectIndex < objectCount; objectIndex++) {
                 logger.debug("Obiekt nr {}:\t{}", objectIndex, testingInformationTable.getFields(objectIndex).toString());
-                for(int ruleIndex = 0; ruleIndex < indicesOfCoveringRules[objectIndex].size(); ruleIndex++) {
-                    logger.debug("\tRegula nr {}:\t{}", ruleIndex, ruleSetWithCharacteristics.getRule(indicesOfCoveringRules[objectIndex].getInt(ruleIndex)));
+                for(int ruleIndex = 0; ruleIndex < indicesOfCoveringRules.getNumberOfCoveringRules(objectIndex); ruleIndex++) {
+                    logger.debug("\tRegula nr {}:\t{}", ruleIndex, ruleSetWithCharacteristics.getRule(indicesOfCoveringRules.getRuleIndex(objectIndex, ruleIndex)));
                 }
             }
         }
@@ -306,6 +438,83 @@ public class ClassificationService {
         return classification;
     }
 
+    /**
+     * Returns rules covering each object of the testing table obtained by inverting coverage of rules stored in the rule set, if the testing table
+     * is the learning table of the rule set. Returns null, if the testing table is different or coverage of any rule isn't stored.
+     */
+    static IndicesOfCoveringRules getStoredIndicesOfCoveringRules(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable learningInformationTable, InformationTable testingInformationTable) {
+        String testingDataHash = testingInformationTable.getHash();
+        if((!testingDataHash.equals(learningInformationTable.getHash())) || (!testingDataHash.equals(ruleSetWithCharacteristics.getLearningInformationTableHash()))) {
+            return null;
+        }
+
+        int objectCount = testingInformationTable.getNumberOfObjects();
+        int numberOfRules = ruleSetWithCharacteristics.size();
+        IntList[] indicesOfCoveredObjects = new IntList[numberOfRules];
+        int[] offsets = new int[objectCount + 1];
+        for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+            BasicRuleCoverageInformation basicRuleCoverageInformation = ruleSetWithCharacteristics.getRuleCharacteristics(ruleIndex).getRuleCoverageInformation();
+            if(basicRuleCoverageInformation == null) {
+                return null;
+            }
+
+            indicesOfCoveredObjects[ruleIndex] = basicRuleCoverageInformation.getIndicesOfCoveredObjects();
+            for(int i = 0; i < indicesOfCoveredObjects[ruleIndex].size(); i++) {
+                int objectIndex = indicesOfCoveredObjects[ruleIndex].getInt(i);
+                if((objectIndex < 0) || (objectIndex >= objectCount)) {
+                    return null;
+                }
+                offsets[objectIndex + 1]++;
+            }
+        }
+
+        for(int objectIndex = 0; objectIndex < objectCount; objectIndex++) {
+            offsets[objectIndex + 1] += offsets[objectIndex];
+        }
+
+        //rules are visited in ascending order, so indices of rules covering each object stay sorted
+        int[] values = new int[offsets[objectCount]];
+        int[] positions = Arrays.copyOf(offsets, objectCount);
+        for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+            for(int i = 0; i < indicesOfCoveredObjects[ruleIndex].size(); i++) {
+                values[positions[indicesOfCoveredObjects[ruleIndex].getInt(i)]++] = ruleIndex;
+            }
+        }
+
+        logger.info("Reusing coverage of rules stored in rule set for its learning data.");
+        return new IndicesOfCoveringRules(offsets, values);
+    }
+
+    /**
+     * Finds rules covering each object from the information table, using given index or checking all rules, if the index is null.
+     */
+    private static IndicesOfCoveringRules calculateIndicesOfCoveringRules(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable informationTable, RuleConditionIndex ruleConditionIndex, boolean parallelCalculation) {
+        int objectCount = informationTable.getNumberOfObjects();
+        int numberOfRules = ruleSetWithCharacteristics.size();
+
+        int[][] coveringRules = new int[objectCount][];
+        CalculationsExecutor.parallelFor(objectCount, parallelCalculation ? parallelClassificationThreshold : Integer.MAX_VALUE, (int objectIndex) -> {
+            IntList objectCoveringRules = new IntArrayList();
+            if(ruleConditionIndex != null) {
+                ruleConditionIndex.getIndicesOfCoveringRules(objectIndex, informationTable, objectCoveringRules);
+            } else {
+                for(int ruleIndex = 0; ruleIndex < numberOfRules; ruleIndex++) {
+                    if(ruleSetWithCharacteristics.getRule(ruleIndex).covers(objectIndex, informationTable)) {
+                        objectCoveringRules.add(ruleIndex);
+                    }
+                }
+            }
+            coveringRules[objectIndex] = objectCoveringRules.toIntArray();
+        });
+
+        IndicesOfCoveringRules.Builder builder = new IndicesOfCoveringRules.Builder(objectCount);
+        for(int objectIndex = 0; objectIndex < objectCount; objectIndex++) {
+            builder.add(coveringRules[objectIndex]);
+            coveringRules[objectIndex] = null;
+        }
+        return builder.build();
+    }
+
     private static void checkInformationTable(InformationTable informationTable, String message) {
         if(informationTable == null) {
             NoDataException ex = new NoDataException(message);
@@ -357,8 +566,8 @@ public class ClassificationService {
 
         RuleSetWithCharacteristics ruleSetWithCharacteristics = getRuleSetToClassify(project);
 
-        Decision[] orderOfDecisions = induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, informationTable);
-        Classification classification = calculateClassification(informationTable, informationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        Decision[] orderOfDecisions = getOrderOfDecisions(ruleSetWithCharacteristics, informationTable, decisionDomainCache);
+        Classification classification = calculateClassification(informationTable, informationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, classifierCache);
         project.setClassification(classification);
 
         return classification;
@@ -396,8 +605,8 @@ public class ClassificationService {
         checkInformationTable(newInformationTable, "There is no data in external file. Couldn't classify.");
         checkNumberOfClassifiedObjects(newInformationTable.getNumberOfObjects(), "There are no objects in external data. Couldn't classify.");
 
-        Decision[] orderOfDecisions = induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, newInformationTable);
-        Classification classification = calculateClassification(projectInformationTable, newInformationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        Decision[] orderOfDecisions = getOrderOfDecisions(ruleSetWithCharacteristics, newInformationTable, decisionDomainCache);
+        Classification classification = calculateClassification(projectInformationTable, newInformationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, classifierCache);
         classification.setExternalData(true);
         classification.setExternalDataFileName(externalDataFile.getOriginalFilename());
         project.setClassification(classification);
@@ -422,8 +631,8 @@ public class ClassificationService {
 
         RuleSetWithCharacteristics ruleSetWithCharacteristics = getRuleSetToClassify(project);
 
-        Decision[] orderOfDecisions = induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, informationTable);
-        Classification classification = calculateClassification(informationTable, informationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        Decision[] orderOfDecisions = getOrderOfDecisions(ruleSetWithCharacteristics, informationTable, decisionDomainCache);
+        Classification classification = calculateClassification(informationTable, informationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, classifierCache);
         project.setClassification(classification);
 
         return classification;
@@ -459,12 +668,347 @@ public class ClassificationService {
         checkInformationTable(newInformationTable, "There is no data in external file. Couldn't classify.");
         checkNumberOfClassifiedObjects(newInformationTable.getNumberOfObjects(), "There are no objects in external data. Couldn't classify.");
 
-        Decision[] orderOfDecisions = induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, newInformationTable);
-        Classification classification = calculateClassification(projectInformationTable, newInformationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        Decision[] orderOfDecisions = getOrderOfDecisions(ruleSetWithCharacteristics, newInformationTable, decisionDomainCache);
+        Classification classification = calculateClassification(projectInformationTable, newInformationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, classifierCache);
         classification.setExternalData(true);
         classification.setExternalDataFileName(externalDataFile.getOriginalFilename());
         project.setClassification(classification);
 
         return classification;
     }
+
+    /**
+     * Classifies objects sent in the request with the rules from the project. Objects are given as one json object or an array of them,
+     * in the same format as objects of the project data. Neither objects nor results are stored in the project.
+     * Classifier and the rule condition index are taken from the classifier cache, like in classification of the project data.
+     */
+    public ObjectsClassification classifyObjects(UUID id, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, String data) throws IOException {
+        logger.info("Id:\t{}", id);
+        logger.info("TypeOfClassifier:\t{}", typeOfClassifier);
+        logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
+        logger.debug("Data:\t{}", data);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable learningInformationTable = project.getInformationTable();
+        checkInformationTable(learningInformationTable, "There is no data in project. Couldn't classify objects.");
+
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = getRuleSetToClassify(project);
+
+        String trimmedData = data.trim();
+        if(trimmedData.startsWith("{")) {
+            trimmedData = "[" + trimmedData + "]";
+        }
+        InformationTable objectsInformationTable = DataService.informationTableFromStringData(trimmedData, learningInformationTable.getAttributes());
+        checkNumberOfClassifiedObjects(objectsInformationTable.getNumberOfObjects(), "There are no objects in request. Couldn't classify.");
+
+        long startTime = System.nanoTime();
+        SharedCoverage sharedCoverage = prepareSharedCoverage(ruleSetWithCharacteristics, classifierCache);
+        RuleClassifier classifier = prepareClassifier(learningInformationTable, typeOfClassifier, defaultClassificationResult, sharedCoverage, classifierCache);
+        IndicesOfCoveringRules objectsIndicesOfCoveringRules = findIndicesOfCoveringRules(learningInformationTable, objectsInformationTable, sharedCoverage, false);
+
+        int objectCount = objectsInformationTable.getNumberOfObjects();
+        ClassificationResult[] classificationResults = new ClassificationResult[objectCount];
+        IndicesOfCoveringRules.Builder indicesOfCoveringRulesBuilder = new IndicesOfCoveringRules.Builder(objectCount);
+        IntList objectCoveringRules = new IntArrayList();
+        sharedCoverage.register(objectsInformationTable, objectsIndicesOfCoveringRules);
+        try {
+            for(int objectIndex = 0; objectIndex < objectCount; objectIndex++) {
+                objectCoveringRules.clear();
+                classificationResults[objectIndex] = classifier.classify(objectIndex, objectsInformationTable, objectCoveringRules);
+                indicesOfCoveringRulesBuilder.add(objectCoveringRules);
+            }
+        } finally {
+            sharedCoverage.unregister(objectsInformationTable, objectsIndicesOfCoveringRules);
+        }
+        long calculationTime = (System.nanoTime() - startTime) / 1000;
+
+        ObjectsClassification objectsClassification = new ObjectsClassification(classificationResults, indicesOfCoveringRulesBuilder.build(), typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics.getHash(), calculationTime);
+        logger.debug("objectsClassification:\t{}", objectsClassification);
+        return objectsClassification;
+    }
+
+    /**
+     * Reads next rows of a csv file and parses them as objects. Header line, if there is one, is repeated for each chunk.
+     *
+     * @return objects from at most {@link #streamChunkSize} rows or null, if there are no more rows
+     */
+    private static InformationTable readChunk(BufferedReader reader, String headerLine, Attribute[] attributes, Character separator) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if(headerLine != null) {
+            sb.append(headerLine).append('\n');
+        }
+
+        int numberOfRows = 0;
+        String line;
+        while((numberOfRows < streamChunkSize) && ((line = reader.readLine()) != null)) {
+            if(!line.trim().isEmpty()) {
+                sb.append(line).append('\n');
+                numberOfRows++;
+            }
+        }
+        if(numberOfRows == 0) {
+            return null;
+        }
+
+        try {
+            org.rulelearn.data.csv.ObjectParser csvObjectParser = new org.rulelearn.data.csv.ObjectParser.Builder(attributes).
+                    separator(separator).
+                    header(headerLine != null).
+                    build();
+            return csvObjectParser.parseObjects(new StringReader(sb.toString()));
+        } catch (RuntimeException e) {
+            WrongParameterException ex = new WrongParameterException(new StringBuilder("Failed to parse as csv file:\t").append(e.getMessage()).toString());
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private static void writeDecision(Decision decision, JsonGenerator jsonGenerator) throws IOException {
+        if(decision == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeString(((SimpleDecision)decision).getEvaluation().toString());
+        }
+    }
+
+    /**
+     * Classifies all objects from the chunk and writes one json line for each of them. Original and suggested decisions are added to the misclassification matrix.
+     * Classifier is prepared once for the whole stream, for each chunk only its covering rules are found, if the shared coverage has the rule condition index.
+     */
+    private static void classifyChunk(RuleClassifier classifier, SharedCoverage sharedCoverage, InformationTable chunk, long firstObjectIndex, OnlineMisclassificationMatrix misclassificationMatrix, JsonGenerator jsonGenerator) throws IOException {
+        int objectCount = chunk.getNumberOfObjects();
+        if(objectCount == 0) {
+            return;
+        }
+
+        IndicesOfCoveringRules chunkIndicesOfCoveringRules = null;
+        if(sharedCoverage.getRuleConditionIndex() != null) {
+            chunkIndicesOfCoveringRules = calculateIndicesOfCoveringRules(sharedCoverage.getOriginalRuleSet(), chunk, sharedCoverage.getRuleConditionIndex(), true);
+        }
+        sharedCoverage.register(chunk, chunkIndicesOfCoveringRules);
+        try {
+            classifyChunk(classifier, chunk, firstObjectIndex, misclassificationMatrix, jsonGenerator);
+        } finally {
+            sharedCoverage.unregister(chunk, chunkIndicesOfCoveringRules);
+        }
+    }
+
+    private static void classifyChunk(RuleClassifier classifier, InformationTable chunk, long firstObjectIndex, OnlineMisclassificationMatrix misclassificationMatrix, JsonGenerator jsonGenerator) throws IOException {
+        int objectCount = chunk.getNumberOfObjects();
+        ClassificationResult[] classificationResults = new ClassificationResult[objectCount];
+        //first object is classified alone, like in calculateClassification
+        IntList objectCoveringRules = new IntArrayList();
+        classificationResults[0] = classifier.classify(0, chunk, objectCoveringRules);
+        List<IndicesOfCoveringRules> blockIndicesOfCoveringRules = new ArrayList<>();
+        blockIndicesOfCoveringRules.add(new IndicesOfCoveringRules.Builder(1).add(objectCoveringRules).build());
+
+        //other objects are split into contiguous blocks, each collecting indices of covering rules of its objects in one array
+        int numberOfBlocks = Math.max(1, Math.min(CalculationsExecutor.getParallelism(), (objectCount - 1) / parallelClassificationThreshold));
+        int[] blockStarts = new int[numberOfBlocks + 2];
+        for(int block = 1; block <= numberOfBlocks + 1; block++) {
+            blockStarts[block] = 1 + (int)((long)(objectCount - 1) * (block - 1) / numberOfBlocks);
+        }
+        List<Callable<IndicesOfCoveringRules>> blockClassifications = new ArrayList<>(numberOfBlocks);
+        for(int block = 1; block <= numberOfBlocks; block++) {
+            final int from = blockStarts[block];
+            final int to = blockStarts[block + 1];
+            blockClassifications.add(() -> {
+                IndicesOfCoveringRules.Builder builder = new IndicesOfCoveringRules.Builder(to - from);
+                IntList blockObjectCoveringRules = new IntArrayList();
+                for(int i = from; i < to; i++) {
+                    blockObjectCoveringRules.clear();
+                    classificationResults[i] = classifier.classify(i, chunk, blockObjectCoveringRules);
+                    builder.add(blockObjectCoveringRules);
+                }
+                return builder.build();
+            });
+        }
+        blockIndicesOfCoveringRules.addAll(CalculationsExecutor.invokeAll(blockClassifications));
+
+        Decision[] originalDecisions = chunk.getDecisions();
+        int block = 0;
+        for(int i = 0; i < objectCount; i++) {
+            while(i >= blockStarts[block + 1]) {
+                block++;
+            }
+            IndicesOfCoveringRules indicesOfCoveringRules = blockIndicesOfCoveringRules.get(block);
+            int objectIndexInBlock = i - blockStarts[block];
+
+            Decision originalDecision = (originalDecisions == null) ? null : originalDecisions[i];
+            ClassificationResult classificationResult = classificationResults[i];
+            misclassificationMatrix.add(originalDecision, classificationResult.getSuggestedDecision());
+
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeNumberField("objectIndex", firstObjectIndex + i);
+            jsonGenerator.writeFieldName("originalDecision");
+            writeDecision(originalDecision, jsonGenerator);
+            jsonGenerator.writeFieldName("suggestedDecision");
+            writeDecision(classificationResult.getSuggestedDecision(), jsonGenerator);
+            jsonGenerator.writeFieldName("certainty");
+            if(classificationResult instanceof SimpleEvaluatedClassificationResult) {
+                jsonGenerator.writeNumber(((SimpleEvaluatedClassificationResult)classificationResult).getSuggestedDecisionEvaluation());
+            } else {
+                jsonGenerator.writeNumber(1);
+            }
+            jsonGenerator.writeFieldName("indicesOfCoveringRules");
+            jsonGenerator.writeStartArray();
+            for(int j = 0; j < indicesOfCoveringRules.getNumberOfCoveringRules(objectIndexInBlock); j++) {
+                jsonGenerator.writeNumber(indicesOfCoveringRules.getRuleIndex(objectIndexInBlock, j));
+            }
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.flush();
+    }
+
+    /**
+     * Classifies objects from an external csv file with the rules from the project without loading the whole file. Rows are read, classified and written
+     * in chunks as newline delimited json, one line per object, followed by a line with the misclassification matrix of all objects.
+     * First chunk is read before the response starts, so errors in the file header or format are reported as usual.
+     */
+    public StreamingResponseBody streamClassificationNewData(
+            UUID id,
+            ClassifierType typeOfClassifier,
+            DefaultClassificationResultType defaultClassificationResult,
+            MultipartFile externalDataFile,
+            Character separator,
+            Boolean header) throws IOException {
+        logger.info("Id:\t{}", id);
+        logger.info("TypeOfClassifier:\t{}", typeOfClassifier);
+        logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
+        logger.info("Data:\t{}\t{}", externalDataFile.getOriginalFilename(), externalDataFile.getContentType());
+        logger.info("Separator:\t{}", separator);
+        logger.info("Header:\t{}", header);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable projectInformationTable = project.getInformationTable();
+        checkInformationTable(projectInformationTable, "There is no data in project. Couldn't classify data from file.");
+
+        Attribute[] attributes = projectInformationTable.getAttributes();
+        if(attributes == null) {
+            NoDataException ex = new NoDataException("There is no metadata in project. Couldn't read classified data from file.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = getRuleSetToClassify(project);
+        //classifier is prepared once for all chunks, before the response starts, so incompatibility of the rule set with the classifier is reported as usual
+        SharedCoverage sharedCoverage = prepareSharedCoverage(ruleSetWithCharacteristics, classifierCache);
+        RuleClassifier classifier = prepareClassifier(projectInformationTable, typeOfClassifier, defaultClassificationResult, sharedCoverage, classifierCache);
+        OnlineMisclassificationMatrix misclassificationMatrix = new OnlineMisclassificationMatrix(getOrderOfDecisions(ruleSetWithCharacteristics, projectInformationTable, decisionDomainCache));
+
+        //reader is closed by the response body, so here it is closed only when reading of the first chunk fails
+        BufferedReader reader = new BufferedReader(new InputStreamReader(externalDataFile.getInputStream(), StandardCharsets.UTF_8));
+        String headerLine;
+        InformationTable firstChunk;
+        try {
+            headerLine = header ? reader.readLine() : null;
+            firstChunk = readChunk(reader, headerLine, attributes, separator);
+            if(firstChunk == null) {
+                NoDataException ex = new NoDataException("There are no objects in external data. Couldn't classify.");
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+
+        return outputStream -> {
+            try (BufferedReader chunkReader = reader) {
+                JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(outputStream);
+                jsonGenerator.setRootValueSeparator(new SerializedString("\n"));
+
+                long numberOfObjects = 0;
+                InformationTable chunk = firstChunk;
+                while(chunk != null) {
+                    classifyChunk(classifier, sharedCoverage, chunk, numberOfObjects, misclassificationMatrix, jsonGenerator);
+                    numberOfObjects += chunk.getNumberOfObjects();
+                    chunk = readChunk(chunkReader, headerLine, attributes, separator);
+                }
+
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeObjectField("misclassificationMatrix", misclassificationMatrix);
+                jsonGenerator.writeEndObject();
+                jsonGenerator.writeRaw('\n');
+                jsonGenerator.flush();
+
+                logger.info("Streamed classification of {} objects:\t{}", numberOfObjects, misclassificationMatrix);
+            }
+        };
+    }
+
+    /**
+     * Classifies objects from the project with classifiers of given types, or with all types applicable to the rules in the project, if no type is given.
+     * Rules covering each object are found once and shared by all classifiers, which only apply their own way of choosing the suggested decision.
+     * Results aren't stored in the project.
+     */
+    public ClassifiersComparison putClassifiersComparison(UUID id, List<ClassifierType> typesOfClassifiers, DefaultClassificationResultType defaultClassificationResult) {
+        logger.info("Id:\t{}", id);
+        logger.info("TypesOfClassifiers:\t{}", typesOfClassifiers);
+        logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable informationTable = project.getInformationTable();
+        checkInformationTable(informationTable, "There is no data in project. Couldn't compare classifiers.");
+
+        checkNumberOfClassifiedObjects(informationTable.getNumberOfObjects(), "There are no objects in project. Couldn't compare classifiers.");
+
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = getRuleSetToClassify(project);
+
+        List<ClassifierType> comparedTypes = new ArrayList<>();
+        if((typesOfClassifiers == null) || (typesOfClassifiers.isEmpty())) {
+            comparedTypes.add(ClassifierType.SIMPLE_RULE_CLASSIFIER);
+            try {
+                checkLearningInformationTableCompatibility(informationTable, ruleSetWithCharacteristics);
+                for(ClassifierType typeOfClassifier : ClassifierType.values()) {
+                    if(typeOfClassifier != ClassifierType.SIMPLE_RULE_CLASSIFIER) {
+                        comparedTypes.add(typeOfClassifier);
+                    }
+                }
+            } catch (NoHashInRuleSetException | IncompatibleLearningInformationTableException e) {
+                logger.info("Only {} is compared, other classifiers can't be used with the rules in project.", ClassifierType.SIMPLE_RULE_CLASSIFIER);
+            }
+        } else {
+            for(ClassifierType typeOfClassifier : typesOfClassifiers) {
+                if(typeOfClassifier != ClassifierType.SIMPLE_RULE_CLASSIFIER) {
+                    checkLearningInformationTableCompatibility(informationTable, ruleSetWithCharacteristics);
+                }
+                if(!comparedTypes.contains(typeOfClassifier)) {
+                    comparedTypes.add(typeOfClassifier);
+                }
+            }
+        }
+
+        Decision[] orderOfDecisions = getOrderOfDecisions(ruleSetWithCharacteristics, informationTable, decisionDomainCache);
+
+        boolean parallelClassification = CalculationsExecutor.isParallelismAvailable();
+        SharedCoverage sharedCoverage = prepareSharedCoverage(ruleSetWithCharacteristics, classifierCache);
+
+        long startTime = System.currentTimeMillis();
+        IndicesOfCoveringRules indicesOfCoveringRules = getStoredIndicesOfCoveringRules(ruleSetWithCharacteristics, informationTable, informationTable);
+        if(indicesOfCoveringRules == null) {
+            indicesOfCoveringRules = calculateIndicesOfCoveringRules(ruleSetWithCharacteristics, informationTable, sharedCoverage.getRuleConditionIndex(), parallelClassification);
+        }
+        long coverageCalculationTime = System.currentTimeMillis() - startTime;
+        logger.info("Covering rules of {} objects found in {} ms.", informationTable.getNumberOfObjects(), coverageCalculationTime);
+
+        ClassifiersComparison classifiersComparison = new ClassifiersComparison(informationTable, orderOfDecisions, defaultClassificationResult, coverageCalculationTime);
+        sharedCoverage.register(informationTable, indicesOfCoveringRules);
+        try {
+            for(ClassifierType typeOfClassifier : comparedTypes) {
+                RuleClassifier classifier = prepareClassifier(informationTable, typeOfClassifier, defaultClassificationResult, sharedCoverage, classifierCache);
+                Classification classification = classifyAllObjects(classifier, informationTable, informationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, parallelClassification);
+                classifiersComparison.putClassification(typeOfClassifier, classification);
+            }
+        } finally {
+            sharedCoverage.unregister(informationTable, indicesOfCoveringRules);
+        }
+
+        logger.debug("classifiersComparison:\t{}", classifiersComparison);
+        return classifiersComparison;
+    }
 }
@@ -1,38 +1,75 @@
 package pl.put.poznan.rulestudio.service;
 
-import org.rulelearn.approximations.UnionsWithSingleLimitingDecision;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.rulelearn.data.Decision;
-import org.rulelearn.data.Index2IdMapper;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.rules.*;
-import org.rulelearn.sampling.CrossValidator;
 import org.rulelearn.validation.OrdinalMisclassificationMatrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
 import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.UnionType;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.exception.NoDataException;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.json.OrdinalMisclassificationMatrixSerializer;
 import pl.put.poznan.rulestudio.model.*;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 @Service
 public class CrossValidationService {
 
     private static final Logger logger = LoggerFactory.getLogger(CrossValidationService.class);
 
+    /**
+     * Maximal number of folds calculated at the same time, which bounds memory occupied by rules and classifications of folds in progress.
+     * Zero or less means parallelism of calculations.
+     */
+    @Value("${rulestudio.cross-validation.max-folds-in-parallel:0}")
+    int maxFoldsInParallel;
+
+    /**
+     * Time in minutes after which a streamed cross-validation is closed, even if it isn't calculated yet.
+     */
+    @Value("${rulestudio.cross-validation.stream-timeout-minutes:60}")
+    int streamTimeoutMinutes;
+
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    RuleSetCache ruleSetCache;
+
+    @Autowired
+    DecisionDomainCache decisionDomainCache;
+
+    @Autowired
+    CrossValidationCheckpoints crossValidationCheckpoints;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    BackgroundExecutor backgroundExecutor;
+
     public static CrossValidation getCrossValidationFromProject(Project project) {
         CrossValidation crossValidation = project.getCrossValidation();
         if(crossValidation == null) {
@@ -44,17 +81,6 @@ public class CrossValidationService {
         return crossValidation;
     }
 
-    private int[] extractIndices(InformationTable foldInformationTable, Index2IdMapper mainIndex2IdMapper) {
-        int[] indices = new int[foldInformationTable.getNumberOfObjects()];
-        Index2IdMapper foldIndex2IdMapper = foldInformationTable.getIndex2IdMapper();
-
-        for(int i = 0; i < foldInformationTable.getNumberOfObjects(); i++) {
-            indices[i] = mainIndex2IdMapper.getIndex( foldIndex2IdMapper.getId(i) );
-        }
-
-        return indices;
-    }
-
     private void rearrangeIndicesOfCoveredObject(RuLeStudioRuleSet ruLeStudioRuleSet, int[] indicesOfTrainingObjects) {
         RuLeStudioRule[] ruLeStudioRules = ruLeStudioRuleSet.getRuLeStudioRules();
         for(int ruleIndex = 0; ruleIndex < ruLeStudioRules.length; ruleIndex++) {
@@ -67,7 +93,27 @@ public class CrossValidationService {
         }
     }
 
-    private CrossValidation calculateCrossValidation(InformationTable informationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed) {
+    private CrossValidationSingleFold calculateCrossValidationSingleFold(int foldIndex, int numberOfFolds, CrossValidationFoldView fold, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Decision[] orderOfDecisions) {
+        logger.info("Creating fold: {}/{}", foldIndex+1, numberOfFolds);
+
+        InformationTable trainingTable = fold.getTrainingTable();
+        InformationTable validationTable = fold.getValidationTable();
+
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(trainingTable, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache);
+
+        Classification classificationValidationTable = ClassificationService.calculateClassification(trainingTable, validationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        classificationValidationTable.setCrossValidation(true);
+
+        int[] indicesOfTrainingObjects = fold.getIndicesOfTrainingObjects();
+        int[] indicesOfValidationObjects = fold.getIndicesOfValidationObjects();
+
+        RuLeStudioRuleSet ruLeStudioRuleSet = new RuLeStudioRuleSet(ruleSetWithCharacteristics);
+        rearrangeIndicesOfCoveredObject(ruLeStudioRuleSet, indicesOfTrainingObjects);
+
+        return new CrossValidationSingleFold(indicesOfTrainingObjects, indicesOfValidationObjects, ruLeStudioRuleSet, classificationValidationTable, ruleSetWithCharacteristics);
+    }
+
+    private void checkCrossValidationParameters(InformationTable informationTable, Integer numberOfFolds) {
         if(informationTable == null) {
             NoDataException ex = new NoDataException("There is no data in project. Couldn't calculate cross-validation.");
             logger.error(ex.getMessage());
@@ -89,49 +135,187 @@ public class CrossValidationService {
             logger.error(ex.getMessage());
             throw ex;
         }
+    }
+
+    /**
+     * Runs given calculations of folds in the shared pool, keeping {@link #maxFoldsInParallel} of them running until fewer are left.
+     *
+     * @return results of calculations in the same order as calculations were given
+     */
+    private <T> List<T> invokeFolds(List<Callable<T>> foldCalculations) {
+        int foldsInParallel = 1;
+        if(CalculationsExecutor.isParallelismAvailable()) {
+            foldsInParallel = (maxFoldsInParallel > 0) ? maxFoldsInParallel : CalculationsExecutor.getParallelism();
+        }
+        return CalculationsExecutor.invokeAll(foldCalculations, foldsInParallel);
+    }
+
+    CrossValidation calculateCrossValidation(InformationTable informationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention) {
+        return calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention, null);
+    }
+
+    /**
+     * @param foldListener called with index of each fold as soon as the fold is calculated, possibly from different threads at the same time, or null
+     */
+    private CrossValidation calculateCrossValidation(InformationTable informationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention, BiConsumer<Integer, CrossValidationSingleFold> foldListener) {
+        checkCrossValidationParameters(informationTable, numberOfFolds);
 
         CrossValidationSingleFold crossValidationSingleFolds[] = new CrossValidationSingleFold[numberOfFolds];
-        Decision[] orderOfDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+        Decision[] orderOfDecisions = ClassificationService.getOrderOfDecisions(null, informationTable, decisionDomainCache);
         OrdinalMisclassificationMatrix[] foldOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix[numberOfFolds];
 
-        Index2IdMapper mainIndex2IdMapper = informationTable.getIndex2IdMapper();
-        int i;
-        int[] indicesOfTrainingObjects, indicesOfValidationObjects;
+        //folds are drawn before any of them is calculated, so results depend only on the seed, not on the order of calculation
+        List<CrossValidationFoldView> folds = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, numberOfFolds, seed);
+
+        crossValidationCheckpoints.deleteStale();
+        String checkpointKey = CrossValidationCheckpoints.getKey(informationTable.getHash(), typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention);
+
+        List<Callable<CrossValidationSingleFold>> foldCalculations = new ArrayList<>(numberOfFolds);
+        for(int i = 0; i < numberOfFolds; i++) {
+            final int foldIndex = i;
+            final CrossValidationFoldView fold = folds.get(i);
+            foldCalculations.add(() -> {
+                CrossValidationSingleFold crossValidationSingleFold = crossValidationCheckpoints.load(checkpointKey, foldIndex);
+                if(crossValidationSingleFold == null) {
+                    crossValidationSingleFold = calculateCrossValidationSingleFold(foldIndex, numberOfFolds, fold, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, orderOfDecisions);
+                    if(retention == CrossValidationRetentionType.SUMMARY) {
+                        crossValidationSingleFold.dropDetails();
+                    }
+                    crossValidationCheckpoints.save(checkpointKey, foldIndex, crossValidationSingleFold);
+                }
+                if(foldListener != null) {
+                    foldListener.accept(foldIndex, crossValidationSingleFold);
+                }
+                return crossValidationSingleFold;
+            });
+        }
+        List<CrossValidationSingleFold> calculatedFolds = invokeFolds(foldCalculations);
+
+        for(int i = 0; i < numberOfFolds; i++) {
+            crossValidationSingleFolds[i] = calculatedFolds.get(i);
+            foldOrdinalMisclassificationMatrix[i] = crossValidationSingleFolds[i].getOrdinalMisclassificationMatrix();
+        }
+        crossValidationCheckpoints.delete(checkpointKey);
+
+        OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, foldOrdinalMisclassificationMatrix);
+        OrdinalMisclassificationMatrix sumOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(true, orderOfDecisions, foldOrdinalMisclassificationMatrix);
 
-        CrossValidator crossValidator = new CrossValidator(new Random());
-        crossValidator.setSeed(seed);
-        List<CrossValidator.CrossValidationFold<InformationTable>> folds = crossValidator.splitStratifiedIntoKFold(DataService.createInformationTableWithDecisionDistributions(informationTable), numberOfFolds);
-        for(i = 0; i < folds.size(); i++) {
-            logger.info("Creating fold: {}/{}", i+1, folds.size());
+        //in summary, whole data isn't kept, because details of a fold are calculated again only for data of the project with the same hash
+        InformationTable retainedInformationTable = (retention == CrossValidationRetentionType.SUMMARY) ? null : informationTable;
+        CrossValidation crossValidation = new CrossValidation(numberOfFolds, retainedInformationTable, crossValidationSingleFolds, meanOrdinalMisclassificationMatrix, sumOrdinalMisclassificationMatrix, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, seed, informationTable.getHash(), orderOfDecisions, retention);
+        return crossValidation;
+    }
+
+    private OrdinalMisclassificationMatrix calculateFoldOrdinalMisclassificationMatrix(CrossValidationFoldView fold, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Decision[] orderOfDecisions) {
+        InformationTable trainingTable = fold.getTrainingTable();
+        InformationTable validationTable = fold.getValidationTable();
 
-            InformationTable trainingTable = folds.get(i).getTrainingTable();
-            InformationTable validationTable = folds.get(i).getValidationTable();
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(trainingTable, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache);
 
-            UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = UnionsService.calculateUnionsWithSingleLimitingDecision(trainingTable, typeOfUnions, consistencyThreshold);
-            RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(unionsWithSingleLimitingDecision, typeOfRules);
+        Classification classificationValidationTable = ClassificationService.calculateClassification(trainingTable, validationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
+        return classificationValidationTable.getOrdinalMisclassificationMatrix();
+    }
 
-            Classification classificationValidationTable = ClassificationService.calculateClassification(trainingTable, validationTable, typeOfClassifier, defaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions);
-            classificationValidationTable.setCrossValidation(true);
+    private RepeatedCrossValidation calculateRepeatedCrossValidation(InformationTable informationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, long[] seeds) {
+        checkCrossValidationParameters(informationTable, numberOfFolds);
+
+        long startTime = System.currentTimeMillis();
+        Decision[] orderOfDecisions = ClassificationService.getOrderOfDecisions(null, informationTable, decisionDomainCache);
+
+        //folds of all repeats are scheduled together, so a fold of the next repeat starts as soon as any fold ends, instead of after the whole repeat
+        List<Callable<OrdinalMisclassificationMatrix>> foldCalculations = new ArrayList<>(seeds.length * numberOfFolds);
+        for(int repeat = 0; repeat < seeds.length; repeat++) {
+            final int repeatIndex = repeat;
+            List<CrossValidationFoldView> folds = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, numberOfFolds, seeds[repeat]);
+            for(int i = 0; i < numberOfFolds; i++) {
+                final int foldIndex = i;
+                final CrossValidationFoldView fold = folds.get(i);
+                foldCalculations.add(() -> {
+                    logger.info("Creating fold: {}/{} of repeat: {}/{}", foldIndex+1, numberOfFolds, repeatIndex+1, seeds.length);
+                    return calculateFoldOrdinalMisclassificationMatrix(fold, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, orderOfDecisions);
+                });
+            }
+        }
+        List<OrdinalMisclassificationMatrix> foldOrdinalMisclassificationMatrices = invokeFolds(foldCalculations);
 
-            foldOrdinalMisclassificationMatrix[i] = classificationValidationTable.getOrdinalMisclassificationMatrix();
+        OrdinalMisclassificationMatrix[] repeatOrdinalMisclassificationMatrices = new OrdinalMisclassificationMatrix[seeds.length];
+        for(int repeat = 0; repeat < seeds.length; repeat++) {
+            List<OrdinalMisclassificationMatrix> repeatFoldMatrices = foldOrdinalMisclassificationMatrices.subList(repeat * numberOfFolds, (repeat + 1) * numberOfFolds);
+            repeatOrdinalMisclassificationMatrices[repeat] = new OrdinalMisclassificationMatrix(true, orderOfDecisions, repeatFoldMatrices.toArray(new OrdinalMisclassificationMatrix[0]));
+        }
 
-            indicesOfTrainingObjects = extractIndices(trainingTable, mainIndex2IdMapper);
-            indicesOfValidationObjects = extractIndices(validationTable, mainIndex2IdMapper);
+        long calculationTime = System.currentTimeMillis() - startTime;
+        logger.info("Repeated cross-validation with {} repeats calculated in {} ms.", seeds.length, calculationTime);
+        return new RepeatedCrossValidation(numberOfFolds, seeds, repeatOrdinalMisclassificationMatrices, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, informationTable.getHash(), calculationTime);
+    }
 
-            RuLeStudioRuleSet ruLeStudioRuleSet = new RuLeStudioRuleSet(ruleSetWithCharacteristics);
-            rearrangeIndicesOfCoveredObject(ruLeStudioRuleSet, indicesOfTrainingObjects);
+    /**
+     * Returns given seeds or, if there are none, given number of consecutive seeds starting with the first seed.
+     */
+    private static long[] getSeedsOfRepeats(List<Long> seeds, Integer numberOfRepeats, Long firstSeed) {
+        if((seeds != null) && (!seeds.isEmpty())) {
+            long[] seedsOfRepeats = new long[seeds.size()];
+            for(int i = 0; i < seedsOfRepeats.length; i++) {
+                seedsOfRepeats[i] = seeds.get(i);
+            }
+            return seedsOfRepeats;
+        }
 
-            crossValidationSingleFolds[i] = new CrossValidationSingleFold(indicesOfTrainingObjects, indicesOfValidationObjects, ruLeStudioRuleSet, classificationValidationTable);
+        if((numberOfRepeats == null) || (numberOfRepeats < 1)) {
+            WrongParameterException ex = new WrongParameterException(String.format("Either seeds or a positive number of repeats must be given, %s is not enough. Couldn't calculate repeated cross-validation.", numberOfRepeats));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
 
-            //let garbage collector clean memory occupied by i-th fold
-            folds.set(i, null);
+        long[] seedsOfRepeats = new long[numberOfRepeats];
+        for(int i = 0; i < numberOfRepeats; i++) {
+            seedsOfRepeats[i] = firstSeed + i;
         }
+        return seedsOfRepeats;
+    }
 
-        OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, foldOrdinalMisclassificationMatrix);
-        OrdinalMisclassificationMatrix sumOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(true, orderOfDecisions, foldOrdinalMisclassificationMatrix);
+    private String writeFoldEvent(int foldIndex, CrossValidationSingleFold crossValidationSingleFold, Decision[] orderOfDecisions) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(stringWriter);
 
-        CrossValidation crossValidation = new CrossValidation(numberOfFolds, informationTable, crossValidationSingleFolds, meanOrdinalMisclassificationMatrix, sumOrdinalMisclassificationMatrix, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, seed, informationTable.getHash());
-        return crossValidation;
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeNumberField("numberOfFold", foldIndex);
+        jsonGenerator.writeNumberField("numberOfRules", crossValidationSingleFold.getNumberOfRules());
+        jsonGenerator.writeNumberField("averageNumberOfConditions", crossValidationSingleFold.getAverageNumberOfConditions());
+        jsonGenerator.writeFieldName("ordinalMisclassificationMatrix");
+        OrdinalMisclassificationMatrixSerializer.serializeMatrix(crossValidationSingleFold.getOrdinalMisclassificationMatrix(), orderOfDecisions, jsonGenerator);
+        jsonGenerator.writeEndObject();
+
+        jsonGenerator.close();
+        return stringWriter.toString();
+    }
+
+    private String writeCrossValidationEvent(CrossValidation crossValidation) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(stringWriter);
+
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeNumberField("numberOfFolds", crossValidation.getNumberOfFolds());
+        jsonGenerator.writeFieldName("meanOrdinalMisclassificationMatrix");
+        OrdinalMisclassificationMatrixSerializer.serializeMatrix(crossValidation.getMeanOrdinalMisclassificationMatrix(), crossValidation.getOrderOfDecisions(), jsonGenerator);
+        jsonGenerator.writeFieldName("sumOrdinalMisclassificationMatrix");
+        OrdinalMisclassificationMatrixSerializer.serializeMatrix(crossValidation.getSumOrdinalMisclassificationMatrix(), crossValidation.getOrderOfDecisions(), jsonGenerator);
+        jsonGenerator.writeStringField("retention", crossValidation.getRetention().toString());
+        jsonGenerator.writeEndObject();
+
+        jsonGenerator.close();
+        return stringWriter.toString();
+    }
+
+    /**
+     * Sends event to the client. Failure of sending, e.g. because the client has disconnected, doesn't stop the calculation.
+     */
+    private static void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.info("Couldn't send \"{}\" event of cross-validation stream:\t{}", name, e.getMessage());
+        }
     }
 
     public CrossValidation getCrossValidation(UUID id) {
@@ -145,7 +329,42 @@ public class CrossValidationService {
         return crossValidation;
     }
 
-    public CrossValidation putCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed) {
+    public CrossValidationSingleFold getCrossValidationSingleFold(UUID id, Integer numberOfFold) {
+        logger.info("Id:\t{}", id);
+        logger.info("NumberOfFold:\t{}", numberOfFold);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        CrossValidation crossValidation = getCrossValidationFromProject(project);
+        CrossValidationSingleFold[] crossValidationSingleFolds = crossValidation.getCrossValidationSingleFolds();
+        if((numberOfFold < 0) || (numberOfFold >= crossValidationSingleFolds.length)) {
+            WrongParameterException ex = new WrongParameterException(String.format("There is no fold with number %d.", numberOfFold));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        CrossValidationSingleFold crossValidationSingleFold = crossValidationSingleFolds[numberOfFold];
+        if(crossValidationSingleFold.hasDetails()) {
+            logger.debug("crossValidationSingleFold:\t{}", crossValidationSingleFold.toString());
+            return crossValidationSingleFold;
+        }
+
+        InformationTable informationTable = project.getInformationTable();
+        if((informationTable == null) || (!informationTable.getHash().equals(crossValidation.getDataHash()))) {
+            NoDataException ex = new NoDataException("Data in project has changed since cross-validation was calculated. Couldn't calculate details of fold.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        //details aren't stored again, so cross-validation kept in project stays summarized
+        CrossValidationFoldView fold = new CrossValidationFoldView(informationTable, crossValidationSingleFold.getIndicesOfTrainingObjects(), crossValidationSingleFold.getIndicesOfValidationObjects());
+        CrossValidationSingleFold rebuiltCrossValidationSingleFold = calculateCrossValidationSingleFold(numberOfFold, crossValidationSingleFolds.length, fold, crossValidation.getTypeOfUnions(), crossValidation.getConsistencyThreshold(), crossValidation.getTypeOfRules(), crossValidation.getTypeOfClassifier(), crossValidation.getDefaultClassificationResult(), crossValidation.getOrderOfDecisions());
+
+        logger.debug("crossValidationSingleFold:\t{}", rebuiltCrossValidationSingleFold.toString());
+        return rebuiltCrossValidationSingleFold;
+    }
+
+    public CrossValidation putCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention) {
         logger.info("Id:\t{}", id);
         logger.info("TypeOfUnions:\t{}", typeOfUnions);
         logger.info("ConsistencyThreshold:\t{}", consistencyThreshold);
@@ -154,12 +373,13 @@ public class CrossValidationService {
         logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
         logger.info("NumberOfFolds:\t{}", numberOfFolds);
         logger.info("Seed:\t{}", seed);
+        logger.info("Retention:\t{}", retention);
 
         Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
         InformationTable informationTable = project.getInformationTable();
 
-        CrossValidation crossValidation = calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed);
+        CrossValidation crossValidation = calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention);
 
         project.setCrossValidation(crossValidation);
 
@@ -167,7 +387,7 @@ public class CrossValidationService {
         return project.getCrossValidation();
     }
 
-    public CrossValidation postCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, String metadata, String data) throws IOException {
+    public CrossValidation postCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention, String metadata, String data) throws IOException {
         logger.info("Id:\t{}", id);
         logger.info("TypeOfUnions:\t{}", typeOfUnions);
         logger.info("ConsistencyThreshold:\t{}", consistencyThreshold);
@@ -179,17 +399,99 @@ public class CrossValidationService {
         logger.info("Data size:\t{} B", data.length());
         logger.debug("Data:\t{}", data);
         logger.info("Seed:\t{}", seed);
+        logger.info("Retention:\t{}", retention);
 
         Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
         InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
 
-        CrossValidation crossValidation = calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed);
+        CrossValidation crossValidation = calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention);
 
         project.setCrossValidation(crossValidation);
 
         logger.debug("crossValidation:\t{}", project.getCrossValidation().toString());
         return project.getCrossValidation();
     }
+
+    public RepeatedCrossValidation putRepeatedCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, List<Long> seeds, Integer numberOfRepeats, Long seed) {
+        logger.info("Id:\t{}", id);
+        logger.info("TypeOfUnions:\t{}", typeOfUnions);
+        logger.info("ConsistencyThreshold:\t{}", consistencyThreshold);
+        logger.info("TypeOfRules:\t{}", typeOfRules);
+        logger.info("TypeOfClassifier:\t{}", typeOfClassifier);
+        logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
+        logger.info("NumberOfFolds:\t{}", numberOfFolds);
+        logger.info("Seeds:\t{}", seeds);
+        logger.info("NumberOfRepeats:\t{}", numberOfRepeats);
+        logger.info("Seed:\t{}", seed);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable informationTable = project.getInformationTable();
+
+        long[] seedsOfRepeats = getSeedsOfRepeats(seeds, numberOfRepeats, seed);
+        RepeatedCrossValidation repeatedCrossValidation = calculateRepeatedCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seedsOfRepeats);
+
+        logger.debug("repeatedCrossValidation:\t{}", repeatedCrossValidation.toString());
+        return repeatedCrossValidation;
+    }
+
+    /**
+     * Calculates cross-validation in the background and sends a "fold" event with misclassification matrix of each fold as soon as the fold is calculated,
+     * then a "crossValidation" event with mean and sum matrices. Calculated cross-validation is stored in the project, like in {@link #putCrossValidation}.
+     * If calculation fails, an "error" event with the message is sent and the stream is completed with the error.
+     * Stream is closed after {@link #streamTimeoutMinutes}, but the calculation goes on and its result is still stored in the project.
+     */
+    public SseEmitter streamCrossValidation(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, ClassifierType typeOfClassifier, DefaultClassificationResultType defaultClassificationResult, Integer numberOfFolds, Long seed, CrossValidationRetentionType retention) {
+        logger.info("Id:\t{}", id);
+        logger.info("TypeOfUnions:\t{}", typeOfUnions);
+        logger.info("ConsistencyThreshold:\t{}", consistencyThreshold);
+        logger.info("TypeOfRules:\t{}", typeOfRules);
+        logger.info("TypeOfClassifier:\t{}", typeOfClassifier);
+        logger.info("DefaultClassificationResult:\t{}", defaultClassificationResult);
+        logger.info("NumberOfFolds:\t{}", numberOfFolds);
+        logger.info("Seed:\t{}", seed);
+        logger.info("Retention:\t{}", retention);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable informationTable = project.getInformationTable();
+        checkCrossValidationParameters(informationTable, numberOfFolds);
+        Decision[] orderOfDecisions = ClassificationService.getOrderOfDecisions(null, informationTable, decisionDomainCache);
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(streamTimeoutMinutes));
+        emitter.onTimeout(() -> logger.info("Cross-validation stream timed out after {} min.", streamTimeoutMinutes));
+        backgroundExecutor.submit(() -> {
+            Throwable failure = null;
+            try {
+                CrossValidation crossValidation = calculateCrossValidation(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, typeOfClassifier, defaultClassificationResult, numberOfFolds, seed, retention,
+                        (foldIndex, crossValidationSingleFold) -> {
+                            try {
+                                sendEvent(emitter, "fold", writeFoldEvent(foldIndex, crossValidationSingleFold, orderOfDecisions));
+                            } catch (IOException e) {
+                                logger.error("Couldn't write fold {} of cross-validation stream:\t{}", foldIndex, e.getMessage());
+                            }
+                        });
+                project.setCrossValidation(crossValidation);
+
+                sendEvent(emitter, "crossValidation", writeCrossValidationEvent(crossValidation));
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+                logger.error("Cross-validation stream failed:\t{}", e.getMessage());
+                sendEvent(emitter, "error", Collections.singletonMap("message", e.getMessage()));
+            } catch (Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                if(failure == null) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(failure);
+                }
+            }
+        });
+
+        return emitter;
+    }
 }
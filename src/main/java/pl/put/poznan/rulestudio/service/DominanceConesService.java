@@ -2,16 +2,17 @@ package pl.put.poznan.rulestudio.service;
 
 import org.rulelearn.core.AttributeNotFoundException;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.dominance.DominanceConeCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import pl.put.poznan.rulestudio.enums.DominanceConesAlgorithm;
 import pl.put.poznan.rulestudio.exception.CalculationException;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.exception.NoDataException;
-import pl.put.poznan.rulestudio.model.DominanceCones;
-import pl.put.poznan.rulestudio.model.Project;
-import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.model.*;
 
 import java.io.*;
 import java.util.UUID;
@@ -24,8 +25,8 @@ public class DominanceConesService {
     @Autowired
     ProjectsContainer projectsContainer;
 
-    private void calculateDominanceCones(Project project) {
-        if(!project.isCurrentDominanceCones()) {
+    private void calculateDominanceCones(Project project, DominanceConesAlgorithm algorithm) {
+        if((!project.isCurrentDominanceCones()) || (project.getDominanceCones().getAlgorithm() != algorithm)) {
             InformationTable informationTable = project.getInformationTable();
             if(informationTable == null) {
                 NoDataException ex = new NoDataException("There is no data in project. Couldn't calculate dominance cones.");
@@ -40,13 +41,15 @@ public class DominanceConesService {
 
             DominanceCones dominanceCones = new DominanceCones();
             try {
-                dominanceCones.calculateDCones(informationTable);
+                dominanceCones.calculateDCones(informationTable, algorithm);
             } catch (AttributeNotFoundException e) {
                 CalculationException ex = new CalculationException("Cannot calculate dominance cones if there are no active condition evaluation attributes.");
                 logger.error(ex.getMessage());
                 throw ex;
             }
 
+            logger.info("Dominance cones calculated with {} algorithm in {} ms.", algorithm, dominanceCones.getCalculationTime());
+
             project.setDominanceCones(dominanceCones);
             project.setCurrentDominanceCones(true);
         } else {
@@ -70,19 +73,21 @@ public class DominanceConesService {
         return dominanceCones;
     }
 
-    public DominanceCones putDominanceCones(UUID id) {
+    public DominanceCones putDominanceCones(UUID id, DominanceConesAlgorithm algorithm) {
         logger.info("Id:\t{}", id);
+        logger.info("Algorithm:\t{}", algorithm);
 
         Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
-        calculateDominanceCones(project);
+        calculateDominanceCones(project, algorithm);
 
         logger.debug("dominanceCones:\t{}", project.getDominanceCones().toString());
         return project.getDominanceCones();
     }
 
-    public DominanceCones postDominanceCones(UUID id, String metadata, String data) throws IOException {
+    public DominanceCones postDominanceCones(UUID id, DominanceConesAlgorithm algorithm, String metadata, String data) throws IOException {
         logger.info("Id:\t{}", id);
+        logger.info("Algorithm:\t{}", algorithm);
         logger.info("Metadata:\t{}", metadata);
         logger.info("Data size:\t{} B", data.length());
         logger.debug("Data:\t{}", data);
@@ -92,9 +97,80 @@ public class DominanceConesService {
         InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
 
-        calculateDominanceCones(project);
+        calculateDominanceCones(project, algorithm);
 
         logger.debug("dominanceCones:\t{}", project.getDominanceCones().toString());
         return project.getDominanceCones();
     }
+
+    private static ObjectDominanceCones calculateObjectDominanceCones(InformationTable informationTable, int objectIndex, ObjectDominanceConesCache objectDominanceConesCache) {
+        String dataHash = informationTable.getHash();
+
+        Boolean positiveDominanceConesEqual = objectDominanceConesCache.getPositiveDominanceConesEqual(dataHash);
+        Boolean negativeDominanceConesEqual = objectDominanceConesCache.getNegativeDominanceConesEqual(dataHash);
+        if((positiveDominanceConesEqual == null) || (negativeDominanceConesEqual == null)) {
+            positiveDominanceConesEqual = DominanceConeCalculator.INSTANCE.positiveDominanceConesEqual(informationTable);
+            negativeDominanceConesEqual = DominanceConeCalculator.INSTANCE.negativeDominanceConesEqual(informationTable);
+            objectDominanceConesCache.setDominanceConesEqual(dataHash, positiveDominanceConesEqual, negativeDominanceConesEqual);
+        }
+
+        int[] positiveDCone = DominanceConeCalculator.INSTANCE.calculatePositiveDCone(objectIndex, informationTable).toIntArray();
+        int[] negativeDCone = DominanceConeCalculator.INSTANCE.calculateNegativeDCone(objectIndex, informationTable).toIntArray();
+        int[] positiveInvDCone = positiveDominanceConesEqual ? null : DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(objectIndex, informationTable).toIntArray();
+        int[] negativeInvDCone = negativeDominanceConesEqual ? null : DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(objectIndex, informationTable).toIntArray();
+
+        return new ObjectDominanceCones(objectIndex, positiveDCone, negativeDCone, positiveInvDCone, negativeInvDCone);
+    }
+
+    private static ObjectDominanceCones extractObjectDominanceCones(DominanceCones dominanceCones, int objectIndex) {
+        return new ObjectDominanceCones(
+                objectIndex,
+                dominanceCones.getPositiveDCones().toIntArray(objectIndex),
+                dominanceCones.getNegativeDCones().toIntArray(objectIndex),
+                (dominanceCones.getPositiveInvDCones() == null) ? null : dominanceCones.getPositiveInvDCones().toIntArray(objectIndex),
+                (dominanceCones.getNegativeInvDCones() == null) ? null : dominanceCones.getNegativeInvDCones().toIntArray(objectIndex)
+        );
+    }
+
+    public ObjectDominanceCones getObjectDominanceCones(UUID id, Integer objectIndex) {
+        logger.info("Id:\t{}", id);
+        logger.info("ObjectIndex:\t{}", objectIndex);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        InformationTable informationTable = project.getInformationTable();
+        if(informationTable == null) {
+            NoDataException ex = new NoDataException("There is no data in project. Couldn't calculate dominance cones.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+        if((objectIndex < 0) || (objectIndex >= informationTable.getNumberOfObjects())) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given object's index \"%d\" is incorrect. You can choose object from %d to %d.", objectIndex, 0, informationTable.getNumberOfObjects() - 1));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        String dataHash = informationTable.getHash();
+        ObjectDominanceConesCache objectDominanceConesCache = project.getObjectDominanceConesCache();
+
+        ObjectDominanceCones objectDominanceCones = objectDominanceConesCache.get(dataHash, objectIndex);
+        if(objectDominanceCones != null) {
+            logger.info("Dominance cones of object are already calculated, taking them from cache.");
+        } else if((project.isCurrentDominanceCones()) && (project.getDominanceCones() != null)) {
+            objectDominanceCones = extractObjectDominanceCones(project.getDominanceCones(), objectIndex);
+            objectDominanceConesCache.put(dataHash, objectDominanceCones);
+        } else {
+            try {
+                objectDominanceCones = calculateObjectDominanceCones(informationTable, objectIndex, objectDominanceConesCache);
+            } catch (AttributeNotFoundException e) {
+                CalculationException ex = new CalculationException("Cannot calculate dominance cones if there are no active condition evaluation attributes.");
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+            objectDominanceConesCache.put(dataHash, objectDominanceCones);
+        }
+
+        logger.debug("objectDominanceCones:\t{}", objectDominanceCones.toString());
+        return objectDominanceCones;
+    }
 }
@@ -0,0 +1,111 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
+import pl.put.poznan.rulestudio.exception.EmptyResponseException;
+import pl.put.poznan.rulestudio.model.CalculationJob;
+import pl.put.poznan.rulestudio.model.JobsContainer;
+import pl.put.poznan.rulestudio.model.Project;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.model.RuleSetCache;
+
+import java.util.UUID;
+
+@Service
+public class JobsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobsService.class);
+
+    @Autowired
+    ProjectsContainer projectsContainer;
+
+    @Autowired
+    JobsContainer jobsContainer;
+
+    @Autowired
+    RuleSetCache ruleSetCache;
+
+    @Autowired
+    BackgroundExecutor backgroundExecutor;
+
+    private void runJob(CalculationJob job, Runnable calculation) {
+        try {
+            job.start();
+            calculation.run();
+            job.finish();
+            logger.info("Job finished:\t{}", job.getId());
+        } catch (CalculationCancelledException e) {
+            logger.info(e.getMessage());
+            job.markAsCancelled();
+        } catch (RuntimeException e) {
+            logger.error("Job failed:\t{}\t{}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            //errors aren't caught, but the job still has to be done, so clients polling it stop waiting
+            if(!job.isDone()) {
+                logger.error("Job stopped unexpectedly:\t{}", job.getId());
+                job.fail("Calculation stopped unexpectedly.");
+            }
+        }
+    }
+
+    private CalculationJob submitJob(CalculationJob job, Runnable calculation) {
+        jobsContainer.addJob(job);
+        job.setFuture(backgroundExecutor.submit(() -> runJob(job, calculation)));
+
+        logger.info("Job submitted:\t{}", job);
+        return job;
+    }
+
+    private CalculationJob getJobFromJobsContainer(UUID id, UUID jobId) {
+        CalculationJob job = jobsContainer.getJob(jobId);
+        if((job == null) || (!job.getProjectId().equals(id))) {
+            EmptyResponseException ex = new EmptyResponseException(String.format("There is no job \"%s\" in this project.", jobId));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        return job;
+    }
+
+    public CalculationJob putRulesJob(UUID id, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules) {
+        logger.info("Id:\t{}", id);
+        logger.info("TypeOfUnions:\t{}", typeOfUnions);
+        logger.info("ConsistencyThreshold:\t{}", consistencyThreshold);
+        logger.info("TypeOfRules:\t{}", typeOfRules);
+
+        Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        CalculationJob job = new CalculationJob(id, "rules");
+        return submitJob(job, () -> RulesService.calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache, job));
+    }
+
+    public CalculationJob getJob(UUID id, UUID jobId) {
+        logger.info("Id:\t{}", id);
+        logger.info("JobId:\t{}", jobId);
+
+        return getJobFromJobsContainer(id, jobId);
+    }
+
+    public CalculationJob deleteJob(UUID id, UUID jobId) {
+        logger.info("Id:\t{}", id);
+        logger.info("JobId:\t{}", jobId);
+
+        CalculationJob job = getJobFromJobsContainer(id, jobId);
+
+        if(job.isDone()) {
+            jobsContainer.removeJob(jobId);
+            logger.info("Job removed:\t{}", jobId);
+        } else {
+            job.cancel();
+            logger.info("Job cancellation requested:\t{}", jobId);
+        }
+
+        return job;
+    }
+}
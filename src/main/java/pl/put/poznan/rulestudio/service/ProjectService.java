@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import pl.put.poznan.rulestudio.exception.NoDataException;
 import pl.put.poznan.rulestudio.exception.ProjectNotFoundException;
+import pl.put.poznan.rulestudio.model.JobsContainer;
 import pl.put.poznan.rulestudio.model.Project;
 import pl.put.poznan.rulestudio.model.ProjectsContainer;
 
@@ -24,6 +25,9 @@ public class ProjectService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    JobsContainer jobsContainer;
+
     public static Project getProjectFromProjectsContainer(ProjectsContainer projectsContainer, UUID id) {
         Project project = projectsContainer.getProject(id);
         if(project == null) {
@@ -116,5 +120,7 @@ public class ProjectService {
             logger.error(ex.getMessage());
             throw ex;
         }
+
+        jobsContainer.removeJobsOfProject(id);
     }
 }
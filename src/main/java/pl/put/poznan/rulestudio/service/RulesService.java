@@ -4,7 +4,6 @@ import it.unimi.dsi.fastutil.ints.IntArraySet;
 import org.rulelearn.approximations.Union;
 import org.rulelearn.approximations.Unions;
 import org.rulelearn.approximations.VCDominanceBasedRoughSetCalculator;
-import org.rulelearn.core.UnknownValueException;
 import org.rulelearn.data.Attribute;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
@@ -18,7 +17,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import pl.put.poznan.rulestudio.enums.JobStage;
 import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.enums.RuleField;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.RulesFormat;
 import pl.put.poznan.rulestudio.enums.UnionType;
@@ -29,6 +30,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 @Service
 public class RulesService {
@@ -38,85 +40,8 @@ public class RulesService {
     @Autowired
     ProjectsContainer projectsContainer;
 
-    private class ArrayIndexComparator implements Comparator<Integer> {
-        private final Number[] array;
-
-        public ArrayIndexComparator(Number[] array) {
-            this.array = array;
-        }
-
-        public Integer[] createIndexArray()
-        {
-            Integer[] indices = new Integer[array.length];
-            for (int i = 0; i < array.length; i++)
-            {
-                indices[i] = i;
-            }
-            return indices;
-        }
-
-        @Override
-        public int compare(Integer ind1, Integer ind2) {
-            if (array[ind1] instanceof Integer) {
-                Integer val1 = (Integer)array[ind1];
-                Integer val2 = (Integer)array[ind2];
-
-                if ((val1.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) && (val2.equals(RuleCharacteristics.UNKNOWN_INT_VALUE))) {
-                    return ind1.compareTo(ind2);
-                }
-                if (val1.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) {
-                    return -1;
-                }
-                if (val2.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) {
-                    return 1;
-                }
-                return val1.compareTo(val2);
-
-            } else if (array[ind1] instanceof Double) {
-                Double val1 = (Double)array[ind1];
-                Double val2 = (Double)array[ind2];
-
-                if ((val1.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) && (val2.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE))) {
-                    return ind1.compareTo(ind2);
-                }
-                if (val1.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) {
-                    return -1;
-                }
-                if (val2.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) {
-                    return 1;
-                }
-                return val1.compareTo(val2);
-            }
-
-            return ind1.compareTo(ind2);
-        }
-    }
-
-    interface NumberCharacteristic {
-        Number get(int index);
-    }
-
-    private static void collectIntegerCharacteristicLoop(int rulesNumber, Number[] characteristicValues, NumberCharacteristic function) {
-        for(int i = 0; i < rulesNumber; i++) {
-            try {
-                characteristicValues[i] = function.get(i);
-            } catch (UnknownValueException e)  {
-                logger.debug(e.getMessage());
-                characteristicValues[i] = RuleCharacteristics.UNKNOWN_INT_VALUE;
-            }
-        }
-    }
-
-    private static void collectDoubleCharacteristicLoop(int rulesNumber, Number[] characteristicValues, NumberCharacteristic function) {
-        for(int i = 0; i < rulesNumber; i++) {
-            try {
-                characteristicValues[i] = function.get(i);
-            } catch (UnknownValueException e)  {
-                logger.debug(e.getMessage());
-                characteristicValues[i] = RuleCharacteristics.UNKNOWN_DOUBLE_VALUE;
-            }
-        }
-    }
+    @Autowired
+    RuleSetCache ruleSetCache;
 
     public static RuleSetWithComputableCharacteristics parseComputableRules(MultipartFile rulesFile, Attribute[] attributes) throws IOException {
         Map<Integer, RuleSetWithCharacteristics> parsedRules = null;
@@ -187,7 +112,68 @@ public class RulesService {
         return ruleSetWithCharacteristics;
     }
 
+    private static RuleInducerComponents createPossibleRuleInducerComponents() {
+        return new PossibleRuleInducerComponents.Builder().
+                build();
+    }
+
+    private static RuleInducerComponents createCertainRuleInducerComponents(Unions unions) {
+        final RuleInductionStoppingConditionChecker stoppingConditionChecker =
+                new EvaluationAndCoverageStoppingConditionChecker(
+                        EpsilonConsistencyMeasure.getInstance(),
+                        EpsilonConsistencyMeasure.getInstance(),
+                        ((VCDominanceBasedRoughSetCalculator) unions.getRoughSetCalculator()).getLowerApproximationConsistencyThreshold()
+                );
+
+        return new CertainRuleInducerComponents.Builder().
+                ruleInductionStoppingConditionChecker(stoppingConditionChecker).
+                ruleConditionsPruner(new AttributeOrderRuleConditionsPruner(stoppingConditionChecker)).
+                build();
+    }
+
+    private static RuleSetWithComputableCharacteristics induceRules(RuleInducerComponents ruleInducerComponents, ApproximatedSetProvider unionProvider, JobStage stage, CalculationJob job) {
+        ApproximatedSetRuleDecisionsProvider unionRuleDecisionsProvider = new UnionWithSingleLimitingDecisionRuleDecisionsProvider();
+
+        if(job != null) job.startStage(stage);
+        RuleSetWithComputableCharacteristics rules = (new VCDomLEM(ruleInducerComponents, unionProvider, unionRuleDecisionsProvider)).generateRules();
+        if(job != null) {
+            job.completeStep();
+            job.endStage(stage);
+        }
+
+        if(job != null) job.startStage(JobStage.CHARACTERISTICS);
+        rules.calculateAllCharacteristics();
+        if(job != null) {
+            job.completeStep();
+            job.endStage(JobStage.CHARACTERISTICS);
+        }
+
+        return rules;
+    }
+
+    private static void calculateApproximationsOfUnions(Union[] unions) {
+        for(Union union : unions) {
+            union.getLowerApproximation();
+            union.getUpperApproximation();
+            union.getBoundary();
+            union.getPositiveRegion();
+            union.getNegativeRegion();
+            union.getBoundaryRegion();
+        }
+    }
+
     public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules) {
+        return calculateRuleSetWithCharacteristics(unions, typeOfRules, CalculationsExecutor.isParallelismAvailable(), null);
+    }
+
+    /**
+     * Induces rules with VCDomLEM. Each combination of type of rules (possible/certain) and type of unions (at least/at most) is induced separately.
+     * In parallel induction mode these inductions are run concurrently in {@link CalculationsExecutor}.
+     * Partial rule sets are always joined in the same order, so the result doesn't depend on the mode.
+     * Progress is reported to the given job, if there is any. Inductions run in parallel report their stages at the same time, see {@link CalculationJob#getActiveStages()},
+     * and cancellation of the job takes effect only when an induction or a calculation of characteristics starts.
+     */
+    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules, boolean parallelInduction, CalculationJob job) {
         if((typeOfRules == RuleType.POSSIBLE) || (typeOfRules == RuleType.BOTH)) {
             if(!unions.getInformationTable().isSuitableForInductionOfPossibleRules()) {
                 NotSuitableForInductionOfPossibleRulesException ex = new NotSuitableForInductionOfPossibleRulesException("Creating possible rules is not possible - learning data contain missing attribute values that can lead to non-transitivity of dominance/indiscernibility relation.");
@@ -198,80 +184,128 @@ public class RulesService {
             logger.info("Current learning data is acceptable to create possible rules.");
         }
 
-        RuleInducerComponents ruleInducerComponents = null;
-
         ApproximatedSetProvider unionAtLeastProvider = new UnionProvider(Union.UnionType.AT_LEAST, unions);
         ApproximatedSetProvider unionAtMostProvider = new UnionProvider(Union.UnionType.AT_MOST, unions);
-        ApproximatedSetRuleDecisionsProvider unionRuleDecisionsProvider = new UnionWithSingleLimitingDecisionRuleDecisionsProvider();
-
-        RuleSetWithComputableCharacteristics rules = null;
-        RuleSetWithCharacteristics resultSet = null;
 
+        List<Callable<RuleSetWithComputableCharacteristics>> inductions = new ArrayList<>();
 
         if((typeOfRules == RuleType.POSSIBLE) || (typeOfRules == RuleType.BOTH)) {
-            ruleInducerComponents = new PossibleRuleInducerComponents.Builder().
-                    build();
-
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtLeastProvider, unionRuleDecisionsProvider)).generateRules();
-            rules.calculateAllCharacteristics();
-            resultSet = rules;
+            inductions.add(() -> induceRules(createPossibleRuleInducerComponents(), unionAtLeastProvider, JobStage.AT_LEAST, job));
+            inductions.add(() -> induceRules(createPossibleRuleInducerComponents(), unionAtMostProvider, JobStage.AT_MOST, job));
+        }
 
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtMostProvider, unionRuleDecisionsProvider)).generateRules();
-            rules.calculateAllCharacteristics();
-            resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
+        if((typeOfRules == RuleType.CERTAIN) || (typeOfRules == RuleType.BOTH)) {
+            inductions.add(() -> induceRules(createCertainRuleInducerComponents(unions), unionAtLeastProvider, JobStage.AT_LEAST, job));
+            inductions.add(() -> induceRules(createCertainRuleInducerComponents(unions), unionAtMostProvider, JobStage.AT_MOST, job));
         }
 
+        if(job != null) job.addSteps(2 * inductions.size());
 
-        if((typeOfRules == RuleType.CERTAIN) || (typeOfRules == RuleType.BOTH)) {
-            final RuleInductionStoppingConditionChecker stoppingConditionChecker =
-                    new EvaluationAndCoverageStoppingConditionChecker(
-                            EpsilonConsistencyMeasure.getInstance(),
-                            EpsilonConsistencyMeasure.getInstance(),
-                            ((VCDominanceBasedRoughSetCalculator) unions.getRoughSetCalculator()).getLowerApproximationConsistencyThreshold()
-                    );
-
-            ruleInducerComponents = new CertainRuleInducerComponents.Builder().
-                    ruleInductionStoppingConditionChecker(stoppingConditionChecker).
-                    ruleConditionsPruner(new AttributeOrderRuleConditionsPruner(stoppingConditionChecker)).
-                    build();
-
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtLeastProvider, unionRuleDecisionsProvider)).generateRules();
-            rules.calculateAllCharacteristics();
-            if(resultSet == null) {
-                resultSet = rules;
-            } else {
-                resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
+        List<RuleSetWithComputableCharacteristics> inducedRules;
+        if(parallelInduction) {
+            //approximations are calculated lazily, so they have to be ready before unions are shared between threads
+            calculateApproximationsOfUnions(unions.getUpwardUnions());
+            calculateApproximationsOfUnions(unions.getDownwardUnions());
+
+            logger.info("Inducing rules in parallel, number of inductions:\t{}", inductions.size());
+            inducedRules = CalculationsExecutor.invokeAll(inductions);
+        } else {
+            inducedRules = new ArrayList<>(inductions.size());
+            for(Callable<RuleSetWithComputableCharacteristics> induction : inductions) {
+                try {
+                    inducedRules.add(induction.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
             }
+        }
 
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtMostProvider, unionRuleDecisionsProvider)).generateRules();
-            rules.calculateAllCharacteristics();
-            resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
+        RuleSetWithCharacteristics resultSet = inducedRules.get(0);
+        for(int i = 1; i < inducedRules.size(); i++) {
+            resultSet = RuleSetWithCharacteristics.join(resultSet, inducedRules.get(i));
         }
 
         resultSet.setLearningInformationTableHash(unions.getInformationTable().getHash());
         return resultSet;
     }
 
-    public static void calculateRulesWithHttpParametersInProject(Project project, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules) {
-        UnionsService.calculateUnionsWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold);
-        UnionsWithHttpParameters unionsWithHttpParameters = project.getUnions();
+    /**
+     * Calculates unions in given information table and induces rules from them. Rule set is taken from the cache, if it was already induced
+     * from the same data with the same parameters.
+     */
+    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(InformationTable informationTable, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, RuleSetCache ruleSetCache) {
+        return ruleSetCache.getOrCalculate(informationTable, typeOfUnions, consistencyThreshold, typeOfRules, () -> {
+            Unions unions = UnionsService.calculateUnionsWithSingleLimitingDecision(informationTable, typeOfUnions, consistencyThreshold);
+            return calculateRuleSetWithCharacteristics(unions, typeOfRules);
+        });
+    }
+
+    public static void calculateRulesWithHttpParametersInProject(Project project, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, RuleSetCache ruleSetCache) {
+        calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache, null);
+    }
+
+    /**
+     * Calculates unions and rules with given parameters and stores them in the project. Both are stored only after the last check of cancellation of the job,
+     * so a cancelled job leaves the project untouched.
+     */
+    public static void calculateRulesWithHttpParametersInProject(Project project, UnionType typeOfUnions, Double consistencyThreshold, RuleType typeOfRules, RuleSetCache ruleSetCache, CalculationJob job) {
+        if(job != null) job.startStage(JobStage.UNIONS);
+        UnionsWithHttpParameters unionsWithHttpParameters = UnionsService.calculateUnionsWithHttpParameters(project, typeOfUnions, consistencyThreshold);
+        if(job != null) {
+            job.completeStep();
+            job.endStage(JobStage.UNIONS);
+        }
 
         RulesWithHttpParameters rules = project.getRules();
-        if ((!project.isCurrentRules()) || (rules.getTypeOfUnions() != typeOfUnions) || (!rules.getConsistencyThreshold().equals(consistencyThreshold)) || (rules.getTypeOfRules() != typeOfRules)) {
-            RuleSetWithCharacteristics ruleSetWithCharacteristics = calculateRuleSetWithCharacteristics(unionsWithHttpParameters.getUnions(), typeOfRules);
+        boolean currentRules = (project.isCurrentRules()) && (rules.getTypeOfUnions() == typeOfUnions) && (rules.getConsistencyThreshold().equals(consistencyThreshold)) && (rules.getTypeOfRules() == typeOfRules);
+        if (!currentRules) {
+            RuleSetWithCharacteristics ruleSetWithCharacteristics = ruleSetCache.getOrCalculate(project.getInformationTable(), typeOfUnions, consistencyThreshold, typeOfRules,
+                    () -> calculateRuleSetWithCharacteristics(unionsWithHttpParameters.getUnions(), typeOfRules, CalculationsExecutor.isParallelismAvailable(), job));
             rules = new RulesWithHttpParameters(ruleSetWithCharacteristics, typeOfUnions, consistencyThreshold, typeOfRules);
+        } else {
+            logger.info("Rules are already calculated with given configuration, skipping current calculation.");
+        }
+
+        if(job != null) job.checkIfCancelled();
 
+        if(unionsWithHttpParameters != project.getUnions()) {
+            project.setUnions(unionsWithHttpParameters);
+            project.setCurrentUnionsWithSingleLimitingDecision(true);
+        }
+        if(!currentRules) {
             project.setRules(rules);
             project.setCurrentRules(true);
-        } else {
-            logger.info("Rules are already calculated with given configuration, skipping current calculation.");
         }
     }
 
-    public RulesWithHttpParameters getRules(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc) {
+    public RulesWithHttpParameters getRules(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc, Integer offset, Integer limit, List<String> filters, List<RuleField> fields) {
         logger.info("Id:\t{}", id);
         logger.info("OrderBy:\t{}", orderBy);
         logger.info("Desc:\t{}", desc);
+        logger.info("Offset:\t{}", offset);
+        logger.info("Limit:\t{}", limit);
+        logger.info("Filters:\t{}", filters);
+        logger.info("Fields:\t{}", fields);
+
+        if(offset < 0) {
+            WrongParameterException ex = new WrongParameterException(String.format("Offset of rules can't be negative, %d is incorrect.", offset));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+        if((limit != null) && (limit < 0)) {
+            WrongParameterException ex = new WrongParameterException(String.format("Limit of rules can't be negative, %d is incorrect.", limit));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        List<RuleCharacteristicFilter> ruleCharacteristicFilters = new ArrayList<>();
+        if(filters != null) {
+            for(String filter : filters) {
+                ruleCharacteristicFilters.add(RuleCharacteristicFilter.parse(filter));
+            }
+        }
 
         Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
@@ -283,97 +317,63 @@ public class RulesService {
             throw ex;
         }
 
+        //columns are taken from the rules kept in project before cloning, so after import they are built once and shared by later requests
+        RuleCharacteristicsColumns ruleCharacteristicsColumns = rules.getRuleCharacteristicsColumns();
         try {
-            rules = (RulesWithHttpParameters) project.getRules().clone();
+            rules = (RulesWithHttpParameters) rules.clone();
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
-            rules = project.getRules();
         }
 
-        RuleSetWithCharacteristics ruleSetWithCharacteristics = rules.getRuleSet();
+        boolean selection = (offset > 0) || (limit != null) || (!ruleCharacteristicFilters.isEmpty());
+
+        int[] order = null;
         if (!orderBy.equals(OrderByRuleCharacteristic.NONE)) {
+            if(!ruleCharacteristicsColumns.hasColumn(orderBy)) {
+                WrongParameterException ex = new WrongParameterException(String.format("Given ordering rule characteristic \"%s\" is unrecognized.", orderBy));
+                logger.error(ex.getMessage());
+                throw ex;
+            }
 
-            int i, rulesNumber = ruleSetWithCharacteristics.size();
+            order = ruleCharacteristicsColumns.getAscendingOrder(orderBy);
+        }
 
-            Rule[] ruleArray = new Rule[rulesNumber];
+        if((order != null) || (selection)) {
+            int i, ruleIndex, rulesNumber = ruleCharacteristicsColumns.getNumberOfRules();
+            int[] selectedIndices = new int[rulesNumber];
+            int numberOfSelectedRules = 0;
 
-            RuleCharacteristics[] ruleCharacteristicsArray = new RuleCharacteristics[rulesNumber];
             for(i = 0; i < rulesNumber; i++) {
-                ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
-            }
+                if(order == null) {
+                    ruleIndex = i;
+                } else {
+                    ruleIndex = desc ? order[rulesNumber - 1 - i] : order[i];
+                }
+
+                boolean satisfiesFilters = true;
+                for(RuleCharacteristicFilter ruleCharacteristicFilter : ruleCharacteristicFilters) {
+                    if(!ruleCharacteristicFilter.test(ruleCharacteristicsColumns, ruleIndex)) {
+                        satisfiesFilters = false;
+                        break;
+                    }
+                }
 
-            Number[] characteristicValues = new Number[rulesNumber];
-            switch (orderBy) {
-                case SUPPORT:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getSupport());
-                    break;
-                case STRENGTH:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getStrength());
-                    break;
-                case CONFIDENCE:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getConfidence());
-                    break;
-                case COVERAGE_FACTOR:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getCoverageFactor());
-                    break;
-                case COVERAGE:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getCoverage());
-                    break;
-                case NEGATIVE_COVERAGE:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getNegativeCoverage());
-                    break;
-                case EPSILON:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getEpsilon());
-                    break;
-                case EPSILON_PRIME:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getEpsilonPrime());
-                    break;
-                case F_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getFConfirmation());
-                    break;
-                case A_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getAConfirmation());
-                    break;
-                case Z_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getZConfirmation());
-                    break;
-                case L_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getLConfirmation());
-                    break;
-                case C1_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getC1Confirmation());
-                    break;
-                case S_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getSConfirmation());
-                    break;
-                default:
-                    WrongParameterException ex = new WrongParameterException(String.format("Given ordering rule characteristic \"%s\" is unrecognized.", orderBy));
-                    logger.error(ex.getMessage());
-                    throw ex;
+                if(satisfiesFilters) {
+                    selectedIndices[numberOfSelectedRules++] = ruleIndex;
+                }
             }
 
-            ArrayIndexComparator comparator = new ArrayIndexComparator(characteristicValues);
-            Integer[] indices = comparator.createIndexArray();
-            Arrays.sort(indices, comparator);
+            int from = Math.min(offset, numberOfSelectedRules);
+            int to = (limit == null) ? numberOfSelectedRules : (int)Math.min((long)from + limit, numberOfSelectedRules);
+            rules.setRuleIndices(Arrays.copyOfRange(selectedIndices, from, to));
 
-            int x, step;
-            if(desc) {
-                x = rulesNumber - 1;
-                step = -1;
-            } else {
-                x = 0;
-                step = 1;
-            }
-            for(i = 0; i < rulesNumber; i++) {
-                ruleArray[i] = ruleSetWithCharacteristics.getRule(indices[x]);
-                ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(indices[x]);
-                logger.debug("{}:\tsupport={}\tindex={}", i, characteristicValues[indices[x]], indices[x]);
-                x += step;
+            if(selection) {
+                rules.setNumberOfSelectedRules(numberOfSelectedRules);
             }
+        }
 
-            RuleSetWithCharacteristics sortedRuleSet = new RuleSetWithCharacteristics(ruleArray, ruleCharacteristicsArray);
-            sortedRuleSet.setLearningInformationTableHash(ruleSetWithCharacteristics.getLearningInformationTableHash());
-            rules.setRuleSet(sortedRuleSet);
+        if((fields != null) && (!fields.isEmpty())) {
+            rules.setFields(EnumSet.copyOf(fields));
         }
 
         logger.debug("rulesWithHttpParameters:\t{}", rules.toString());
@@ -388,7 +388,7 @@ public class RulesService {
 
         Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
-        calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules);
+        calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache);
 
         return project.getRules();
     }
@@ -407,7 +407,7 @@ public class RulesService {
         InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
 
-        calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules);
+        calculateRulesWithHttpParametersInProject(project, typeOfUnions, consistencyThreshold, typeOfRules, ruleSetCache);
 
         return project.getRules();
     }
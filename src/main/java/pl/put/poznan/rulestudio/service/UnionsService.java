@@ -65,6 +65,17 @@ public class UnionsService {
     }
 
     public static void calculateUnionsWithHttpParametersInProject(Project project, UnionType typeOfUnions, Double consistencyThreshold) {
+        UnionsWithHttpParameters unionsWithHttpParameters = calculateUnionsWithHttpParameters(project, typeOfUnions, consistencyThreshold);
+        if(unionsWithHttpParameters != project.getUnions()) {
+            project.setUnions(unionsWithHttpParameters);
+            project.setCurrentUnionsWithSingleLimitingDecision(true);
+        }
+    }
+
+    /**
+     * Returns unions from the project, if they are current and calculated with given parameters, or calculates new ones without storing them in the project.
+     */
+    public static UnionsWithHttpParameters calculateUnionsWithHttpParameters(Project project, UnionType typeOfUnions, Double consistencyThreshold) {
         UnionsWithHttpParameters unionsWithHttpParameters = project.getUnions();
         if((!project.isCurrentUnionsWithSingleLimitingDecision()) || (unionsWithHttpParameters.getTypeOfUnions() != typeOfUnions) || (!unionsWithHttpParameters.getConsistencyThreshold().equals(consistencyThreshold))) {
             InformationTable informationTable = project.getInformationTable();
@@ -82,12 +93,10 @@ public class UnionsService {
             UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = calculateUnionsWithSingleLimitingDecision(informationTable, typeOfUnions, consistencyThreshold);
 
             unionsWithHttpParameters = new UnionsWithHttpParameters(unionsWithSingleLimitingDecision, typeOfUnions, consistencyThreshold, informationTable.getHash());
-
-            project.setUnions(unionsWithHttpParameters);
-            project.setCurrentUnionsWithSingleLimitingDecision(true);
         } else {
             logger.info("Unions are already calculated with given configuration, skipping current calculation.");
         }
+        return unionsWithHttpParameters;
     }
 
     public UnionsWithHttpParameters getUnions(UUID id) {
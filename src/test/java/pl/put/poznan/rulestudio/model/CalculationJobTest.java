@@ -0,0 +1,48 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+import pl.put.poznan.rulestudio.enums.JobStage;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CalculationJobTest {
+
+    @Test
+    public void reportsAllStagesActiveAtOnce() {
+        CalculationJob job = new CalculationJob(UUID.randomUUID(), "rules");
+        assertEquals(JobStage.QUEUED, job.getStage());
+
+        job.start();
+        job.startStage(JobStage.AT_LEAST);
+        job.startStage(JobStage.AT_MOST);
+        job.startStage(JobStage.AT_LEAST);
+        assertNull(job.getStage());
+        assertEquals(EnumSet.of(JobStage.AT_LEAST, JobStage.AT_MOST), job.getActiveStages());
+
+        job.endStage(JobStage.AT_MOST);
+        job.endStage(JobStage.AT_LEAST);
+        assertEquals(JobStage.AT_LEAST, job.getStage());
+
+        job.endStage(JobStage.AT_LEAST);
+        assertEquals(EnumSet.noneOf(JobStage.class), job.getActiveStages());
+
+        job.finish();
+        assertEquals(JobStage.FINISHED, job.getStage());
+    }
+
+    @Test(expected = CalculationCancelledException.class)
+    public void cancelsWhenNextStageStarts() {
+        CalculationJob job = new CalculationJob(UUID.randomUUID(), "rules");
+        job.start();
+        job.startStage(JobStage.AT_LEAST);
+        job.cancel();
+
+        job.endStage(JobStage.AT_LEAST);
+        job.startStage(JobStage.CHARACTERISTICS);
+    }
+}
@@ -0,0 +1,111 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class CrossValidationCheckpointsTest {
+
+    private static final long MAX_AGE_HOURS = 72;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    //directory which doesn't exist yet, so checkpoints create it accessible only to the owner
+    private Path getCheckpointsDirectory() {
+        return temporaryFolder.getRoot().toPath().resolve("checkpoints");
+    }
+
+    private static Path createKeyDirectory(Path directory, String key) throws IOException {
+        Path keyDirectory = Files.createDirectories(directory.resolve(key));
+        Files.write(keyDirectory.resolve("fold-0.xml.gz"), new byte[] {1, 2, 3});
+        return keyDirectory;
+    }
+
+    @Test
+    public void createsDirectoryAccessibleOnlyToOwner() throws IOException {
+        Path directory = getCheckpointsDirectory();
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), MAX_AGE_HOURS);
+
+        assertTrue(crossValidationCheckpoints.isEnabled());
+        assertTrue(Files.isDirectory(directory));
+        if(directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(directory)));
+        }
+    }
+
+    @Test
+    public void disablesCheckpointsInDirectoryAccessibleToOthers() throws IOException {
+        Path directory = getCheckpointsDirectory();
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.createDirectory(directory);
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxr-xr-x"));
+
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), MAX_AGE_HOURS);
+        assertFalse(crossValidationCheckpoints.isEnabled());
+    }
+
+    @Test
+    public void doesNothingWithoutDirectory() {
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(" ", MAX_AGE_HOURS);
+
+        assertFalse(crossValidationCheckpoints.isEnabled());
+        assertNull(crossValidationCheckpoints.load("key", 0));
+        crossValidationCheckpoints.deleteStale();
+    }
+
+    @Test
+    public void loadsNothingFromMissingOrDamagedFold() throws IOException {
+        Path directory = getCheckpointsDirectory();
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), MAX_AGE_HOURS);
+        createKeyDirectory(directory, "damaged");
+
+        assertNull(crossValidationCheckpoints.load("missing", 0));
+        assertNull(crossValidationCheckpoints.load("damaged", 1));
+        assertNull(crossValidationCheckpoints.load("damaged", 0));
+    }
+
+    @Test
+    public void deletesOnlyStaleCheckpoints() throws IOException {
+        Path directory = getCheckpointsDirectory();
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), MAX_AGE_HOURS);
+
+        Path staleKeyDirectory = createKeyDirectory(directory, "stale");
+        Path freshKeyDirectory = createKeyDirectory(directory, "fresh");
+        //set after the fold is written, because writing it changes last modified time of the directory
+        long staleTime = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(MAX_AGE_HOURS + 1);
+        Files.setLastModifiedTime(staleKeyDirectory, FileTime.fromMillis(staleTime));
+
+        crossValidationCheckpoints.deleteStale();
+
+        assertFalse(Files.exists(staleKeyDirectory));
+        assertTrue(Files.isDirectory(freshKeyDirectory));
+    }
+
+    @Test
+    public void deletesAllFoldsOfKey() throws IOException {
+        Path directory = getCheckpointsDirectory();
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), MAX_AGE_HOURS);
+        Path keyDirectory = createKeyDirectory(directory, "key");
+        Files.write(keyDirectory.resolve("fold-1.xml.gz"), "fold".getBytes(StandardCharsets.UTF_8));
+
+        crossValidationCheckpoints.delete("key");
+
+        assertFalse(Files.exists(keyDirectory));
+        assertTrue(Files.isDirectory(directory));
+    }
+}
@@ -0,0 +1,119 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CrossValidationFoldViewTest {
+
+    private static void assertSorted(int[] indices) {
+        for(int i = 1; i < indices.length; i++) {
+            assertTrue(indices[i - 1] < indices[i]);
+        }
+    }
+
+    private static void checkSplit(InformationTable informationTable, int numberOfFolds, long seed) {
+        int numberOfObjects = informationTable.getNumberOfObjects();
+        List<CrossValidationFoldView> folds = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, numberOfFolds, seed);
+        assertEquals(numberOfFolds, folds.size());
+
+        int[] foldOfObject = new int[numberOfObjects];
+        Arrays.fill(foldOfObject, -1);
+        Map<Decision, int[]> decisionCountsInFolds = new HashMap<>();
+        int minFoldSize = Integer.MAX_VALUE;
+        int maxFoldSize = 0;
+        for(int fold = 0; fold < numberOfFolds; fold++) {
+            int[] validation = folds.get(fold).getIndicesOfValidationObjects();
+            int[] training = folds.get(fold).getIndicesOfTrainingObjects();
+            assertSorted(validation);
+            assertSorted(training);
+            assertEquals(numberOfObjects, validation.length + training.length);
+
+            boolean[] isValidation = new boolean[numberOfObjects];
+            for(int objectIndex : validation) {
+                assertEquals("Object " + objectIndex + " is in more than one validation fold", -1, foldOfObject[objectIndex]);
+                foldOfObject[objectIndex] = fold;
+                isValidation[objectIndex] = true;
+                decisionCountsInFolds.computeIfAbsent(informationTable.getDecision(objectIndex), decision -> new int[numberOfFolds])[fold]++;
+            }
+            for(int objectIndex : training) {
+                assertTrue("Object " + objectIndex + " is both training and validation", !isValidation[objectIndex]);
+            }
+
+            minFoldSize = Math.min(minFoldSize, validation.length);
+            maxFoldSize = Math.max(maxFoldSize, validation.length);
+        }
+
+        for(int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++) {
+            assertTrue("Object " + objectIndex + " is in no validation fold", foldOfObject[objectIndex] >= 0);
+        }
+        assertTrue("Sizes of folds differ by more than one", maxFoldSize - minFoldSize <= 1);
+
+        for(Map.Entry<Decision, int[]> decisionCounts : decisionCountsInFolds.entrySet()) {
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for(int count : decisionCounts.getValue()) {
+                min = Math.min(min, count);
+                max = Math.max(max, count);
+            }
+            assertTrue("Numbers of objects with decision " + decisionCounts.getKey() + " in folds differ by more than one", max - min <= 1);
+        }
+    }
+
+    @Test
+    public void splitsIntoBalancedPartition() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        for(int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            InformationTable informationTable = RandomInformationTables.create(random, attributes, 10 + random.nextInt(200), 0.1);
+            for(int numberOfFolds = 2; numberOfFolds <= 10; numberOfFolds++) {
+                checkSplit(informationTable, numberOfFolds, seed);
+            }
+        }
+    }
+
+    @Test
+    public void splitsIntoMoreFoldsThanObjectsWithDecision() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), attributes, 7, 0.0);
+        checkSplit(informationTable, 5, 0L);
+        checkSplit(informationTable, 7, 0L);
+    }
+
+    @Test
+    public void splitsSameWayForSameSeed() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), attributes, 100, 0.0);
+        List<CrossValidationFoldView> folds = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, 5, 42L);
+        List<CrossValidationFoldView> sameFolds = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, 5, 42L);
+        for(int fold = 0; fold < folds.size(); fold++) {
+            assertArrayEquals(folds.get(fold).getIndicesOfValidationObjects(), sameFolds.get(fold).getIndicesOfValidationObjects());
+            assertArrayEquals(folds.get(fold).getIndicesOfTrainingObjects(), sameFolds.get(fold).getIndicesOfTrainingObjects());
+        }
+    }
+
+    @Test
+    public void selectsRowsOfFold() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), attributes, 50, 0.1);
+        CrossValidationFoldView fold = CrossValidationFoldView.splitStratifiedIntoKFold(informationTable, 3, 0L).get(0);
+
+        InformationTable validationTable = fold.getValidationTable();
+        assertEquals(fold.getIndicesOfValidationObjects().length, validationTable.getNumberOfObjects());
+        for(int i = 0; i < validationTable.getNumberOfObjects(); i++) {
+            assertEquals(informationTable.getDecision(fold.getIndicesOfValidationObjects()[i]), validationTable.getDecision(i));
+        }
+        assertEquals(fold.getIndicesOfTrainingObjects().length, fold.getTrainingTable().getNumberOfObjects());
+    }
+}
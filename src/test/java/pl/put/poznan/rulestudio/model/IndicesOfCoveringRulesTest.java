@@ -0,0 +1,83 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class IndicesOfCoveringRulesTest {
+
+    private static final int[][] COVERING_RULES = {
+            {0, 2, 5},
+            {},
+            {1},
+            {},
+            {0, 1, 2, 3, 4, 5, 6},
+            {6}
+    };
+
+    private static IntList[] toLists(int[][] arrays) {
+        IntList[] lists = new IntList[arrays.length];
+        for(int objectIndex = 0; objectIndex < arrays.length; objectIndex++) {
+            lists[objectIndex] = new IntArrayList(arrays[objectIndex]);
+        }
+        return lists;
+    }
+
+    private static void assertSameIndices(int[][] expected, IndicesOfCoveringRules actual) {
+        assertEquals(expected.length, actual.getNumberOfObjects());
+
+        int numberOfIndices = 0;
+        for(int objectIndex = 0; objectIndex < expected.length; objectIndex++) {
+            String message = "Object " + objectIndex;
+            assertArrayEquals(message, expected[objectIndex], actual.getIndices(objectIndex));
+            assertEquals(message, expected[objectIndex].length, actual.getNumberOfCoveringRules(objectIndex));
+            for(int i = 0; i < expected[objectIndex].length; i++) {
+                assertEquals(message, expected[objectIndex][i], actual.getRuleIndex(objectIndex, i));
+            }
+            for(int ruleIndex = 0; ruleIndex <= 7; ruleIndex++) {
+                boolean isCovering = false;
+                for(int coveringRuleIndex : expected[objectIndex]) {
+                    isCovering |= coveringRuleIndex == ruleIndex;
+                }
+                assertEquals(message + ", rule " + ruleIndex, isCovering, actual.contains(objectIndex, ruleIndex));
+            }
+            numberOfIndices += expected[objectIndex].length;
+        }
+        assertEquals(numberOfIndices, actual.getNumberOfIndices());
+    }
+
+    @Test
+    public void keepsIndicesOfListsInOrder() {
+        assertSameIndices(COVERING_RULES, IndicesOfCoveringRules.fromLists(toLists(COVERING_RULES)));
+    }
+
+    @Test
+    public void buildsSameIndicesFromListsAndArrays() {
+        IntList[] lists = toLists(COVERING_RULES);
+        IndicesOfCoveringRules.Builder builder = new IndicesOfCoveringRules.Builder(0);
+        for(int objectIndex = 0; objectIndex < COVERING_RULES.length; objectIndex++) {
+            if(objectIndex % 2 == 0) {
+                builder.add(lists[objectIndex]);
+            } else {
+                builder.add(COVERING_RULES[objectIndex]);
+            }
+        }
+        assertSameIndices(COVERING_RULES, builder.build());
+    }
+
+    @Test
+    public void readsOffsetsAndValues() {
+        IndicesOfCoveringRules indicesOfCoveringRules = new IndicesOfCoveringRules(new int[] {0, 2, 2, 3}, new int[] {1, 4, 0});
+        assertSameIndices(new int[][] {{1, 4}, {}, {0}}, indicesOfCoveringRules);
+    }
+
+    @Test
+    public void storesNoObjects() {
+        IndicesOfCoveringRules indicesOfCoveringRules = new IndicesOfCoveringRules.Builder(0).build();
+        assertEquals(0, indicesOfCoveringRules.getNumberOfObjects());
+        assertEquals(0, indicesOfCoveringRules.getNumberOfIndices());
+    }
+}
@@ -0,0 +1,107 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LeastRecentlyUsedCacheTest {
+
+    @Test
+    public void countsHitsAndMisses() {
+        LeastRecentlyUsedCache<String, String> cache = new LeastRecentlyUsedCache<>("test", 4);
+        AtomicInteger calculations = new AtomicInteger();
+
+        String value = cache.getOrCalculate("a", () -> "value " + calculations.incrementAndGet());
+        assertSame(value, cache.getOrCalculate("a", () -> "value " + calculations.incrementAndGet()));
+        assertSame(value, cache.getOrCalculate("a", () -> "value " + calculations.incrementAndGet()));
+
+        assertEquals(1, calculations.get());
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getNumberOfEntries());
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(Long.valueOf(0), statistics.getEvictions());
+        assertNull(statistics.getWeight());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntry() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void evictsUntilWeightIsKept() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 10, 100L);
+        cache.put("a", 1, 40);
+        cache.put("b", 2, 40);
+        cache.put("c", 3, 90);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(90, cache.getWeight());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(Long.valueOf(90), cache.getStatistics().getWeight());
+    }
+
+    @Test
+    public void replacesWeightOfEntryPutAgain() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 10, 100L);
+        cache.put("a", 1, 40);
+        cache.put("a", 2, 30);
+
+        assertEquals(30, cache.getWeight());
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+    }
+
+    @Test
+    public void skipsValueHeavierThanMaximalWeight() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 10, 100L);
+        cache.put("a", 1, 40);
+        cache.put("b", 2, 101);
+
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(40, cache.getWeight());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void keepsNothingWithoutEntries() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 0);
+        AtomicInteger calculations = new AtomicInteger();
+        cache.getOrCalculate("a", calculations::incrementAndGet);
+        cache.getOrCalculate("a", calculations::incrementAndGet);
+
+        assertEquals(2, calculations.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void clearsEntriesButNotCounters() {
+        LeastRecentlyUsedCache<String, Integer> cache = new LeastRecentlyUsedCache<>("test", 10, 100L);
+        cache.put("a", 1, 40);
+        cache.get("a");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+        assertEquals(1, cache.getHits());
+        assertNull(cache.get("a"));
+    }
+}
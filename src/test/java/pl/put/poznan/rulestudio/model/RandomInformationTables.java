@@ -0,0 +1,76 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import pl.put.poznan.rulestudio.service.DataService;
+import pl.put.poznan.rulestudio.service.MetadataService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Creates small information tables with random evaluations, parsed from json the same way as data sent to the application.
+ * Condition attributes have few distinct values, so objects often tie on them, and decisions are always known.
+ */
+public final class RandomInformationTables {
+
+    private static final String[] NOMINAL_VALUES = {"x", "y", "z"};
+    private static final String[] ORDINAL_VALUES = {"low", "medium", "high"};
+    private static final String[] DECISIONS = {"1", "2", "3"};
+
+    private static final String ORDERED_METADATA =
+            "{\"name\":\"gain\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"gain\",\"missingValueType\":\"mv2\"}," +
+            "{\"name\":\"cost\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"cost\",\"missingValueType\":\"mv2\"}," +
+            "{\"name\":\"level\",\"active\":true,\"type\":\"condition\",\"valueType\":\"enumeration\",\"preferenceType\":\"gain\",\"missingValueType\":\"mv2\",\"domain\":[\"low\",\"medium\",\"high\"]},";
+    private static final String NOMINAL_METADATA =
+            "{\"name\":\"kind\",\"active\":true,\"type\":\"condition\",\"valueType\":\"enumeration\",\"preferenceType\":\"none\",\"missingValueType\":\"mv2\",\"domain\":[\"x\",\"y\",\"z\"]},";
+    private static final String DECISION_METADATA =
+            "{\"name\":\"class\",\"active\":true,\"type\":\"decision\",\"valueType\":\"enumeration\",\"preferenceType\":\"gain\",\"missingValueType\":\"mv2\",\"domain\":[\"1\",\"2\",\"3\"]}";
+
+    private RandomInformationTables() {
+    }
+
+    public static Attribute[] createAttributes(boolean withNominalAttribute) {
+        String metadata = "[" + ORDERED_METADATA + (withNominalAttribute ? NOMINAL_METADATA : "") + DECISION_METADATA + "]";
+        try {
+            return MetadataService.attributesFromStringMetadata(metadata);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param missingValueProbability probability that an evaluation on a condition attribute is missing
+     */
+    public static InformationTable create(Random random, Attribute[] attributes, int numberOfObjects, double missingValueProbability) {
+        boolean withNominalAttribute = attributes.length > 4;
+        StringBuilder data = new StringBuilder("[");
+        for(int i = 0; i < numberOfObjects; i++) {
+            if(i > 0) {
+                data.append(",");
+            }
+            data.append("{");
+            appendEvaluation(data, "gain", String.valueOf(random.nextInt(5)), random, missingValueProbability).append(",");
+            appendEvaluation(data, "cost", String.valueOf(random.nextInt(5)), random, missingValueProbability).append(",");
+            appendEvaluation(data, "level", ORDINAL_VALUES[random.nextInt(ORDINAL_VALUES.length)], random, missingValueProbability).append(",");
+            if(withNominalAttribute) {
+                appendEvaluation(data, "kind", NOMINAL_VALUES[random.nextInt(NOMINAL_VALUES.length)], random, missingValueProbability).append(",");
+            }
+            appendEvaluation(data, "class", DECISIONS[random.nextInt(DECISIONS.length)], random, 0.0);
+            data.append("}");
+        }
+        data.append("]");
+
+        try {
+            return DataService.informationTableFromStringData(data.toString(), attributes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StringBuilder appendEvaluation(StringBuilder data, String name, String value, Random random, double missingValueProbability) {
+        String evaluation = (random.nextDouble() < missingValueProbability) ? "?" : value;
+        return data.append("\"").append(name).append("\":\"").append(evaluation).append("\"");
+    }
+}
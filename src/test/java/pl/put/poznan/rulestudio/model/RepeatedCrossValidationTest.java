@@ -0,0 +1,46 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RepeatedCrossValidationTest {
+
+    private static final double DELTA = 1e-12;
+
+    @Test
+    public void calculatesMeanAndSampleStandardDeviation() {
+        double[] values = {2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0};
+        RepeatedCrossValidation.Statistic statistic = new RepeatedCrossValidation.Statistic(values);
+
+        assertArrayEquals(values, statistic.getValues(), 0.0);
+        assertEquals(5.0, statistic.getMean(), DELTA);
+        //squared deviations sum up to 32 and are divided by n - 1
+        assertEquals(Math.sqrt(32.0 / 7.0), statistic.getStandardDeviation(), DELTA);
+    }
+
+    @Test
+    public void hasNoDeviationOfSingleRepeat() {
+        RepeatedCrossValidation.Statistic statistic = new RepeatedCrossValidation.Statistic(new double[]{0.75});
+
+        assertEquals(0.75, statistic.getMean(), DELTA);
+        assertEquals(0.0, statistic.getStandardDeviation(), 0.0);
+    }
+
+    @Test
+    public void hasNoDeviationOfEqualValues() {
+        RepeatedCrossValidation.Statistic statistic = new RepeatedCrossValidation.Statistic(new double[]{0.1, 0.1, 0.1});
+
+        assertEquals(0.1, statistic.getMean(), DELTA);
+        assertEquals(0.0, statistic.getStandardDeviation(), DELTA);
+    }
+
+    @Test
+    public void hasZeroStatisticsWithoutRepeats() {
+        RepeatedCrossValidation.Statistic statistic = new RepeatedCrossValidation.Statistic(new double[0]);
+
+        assertEquals(0.0, statistic.getMean(), 0.0);
+        assertEquals(0.0, statistic.getStandardDeviation(), 0.0);
+    }
+}
@@ -0,0 +1,77 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+import org.rulelearn.approximations.Unions;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.RuleSet;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.service.RulesService;
+import pl.put.poznan.rulestudio.service.UnionsService;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RuleConditionIndexTest {
+
+    private static final int NUMBER_OF_TABLES = 20;
+
+    private static void assertSameCoverage(RuleSet ruleSet, RuleConditionIndex ruleConditionIndex, InformationTable informationTable) {
+        for(int objectIndex = 0; objectIndex < informationTable.getNumberOfObjects(); objectIndex++) {
+            IntList expected = new IntArrayList();
+            for(int ruleIndex = 0; ruleIndex < ruleSet.size(); ruleIndex++) {
+                if(ruleSet.getRule(ruleIndex).covers(objectIndex, informationTable)) {
+                    expected.add(ruleIndex);
+                }
+            }
+
+            IntList actual = new IntArrayList();
+            ruleConditionIndex.getIndicesOfCoveringRules(objectIndex, informationTable, actual);
+            assertEquals("Rules covering object " + objectIndex, expected, actual);
+
+            long[] covering = ruleConditionIndex.getCoveringRules(objectIndex, informationTable);
+            for(int ruleIndex = 0; ruleIndex < ruleSet.size(); ruleIndex++) {
+                boolean isCovering = (covering[ruleIndex >>> 6] & (1L << ruleIndex)) != 0;
+                assertEquals("Rule " + ruleIndex + " covering object " + objectIndex, expected.contains(ruleIndex), isCovering);
+            }
+        }
+    }
+
+    private static void checkRandomTables(UnionType typeOfUnions, Double consistencyThreshold) {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        for(int seed = 0; seed < NUMBER_OF_TABLES; seed++) {
+            Random random = new Random(seed);
+            InformationTable learningInformationTable = RandomInformationTables.create(random, attributes, 80, 0.1);
+            InformationTable testingInformationTable = RandomInformationTables.create(random, attributes, 200, 0.25);
+
+            Unions unions = UnionsService.calculateUnionsWithSingleLimitingDecision(learningInformationTable, typeOfUnions, consistencyThreshold);
+            RuleSet ruleSet = RulesService.calculateRuleSetWithCharacteristics(unions, RuleType.CERTAIN);
+            assertTrue(ruleSet.size() > 0);
+
+            RuleConditionIndex ruleConditionIndex = new RuleConditionIndex(ruleSet);
+            assertEquals(ruleSet.size(), ruleConditionIndex.getNumberOfRules());
+            assertSameCoverage(ruleSet, ruleConditionIndex, learningInformationTable);
+            assertSameCoverage(ruleSet, ruleConditionIndex, testingInformationTable);
+        }
+    }
+
+    @Test
+    public void coversSameObjectsAsRulesOfMonotonicUnions() {
+        checkRandomTables(UnionType.MONOTONIC, 0.0);
+    }
+
+    @Test
+    public void coversSameObjectsAsRulesOfStandardUnions() {
+        checkRandomTables(UnionType.STANDARD, 1.0);
+    }
+
+    @Test
+    public void coversSameObjectsAsRulesOfInconsistentUnions() {
+        checkRandomTables(UnionType.MONOTONIC, 0.3);
+    }
+}
@@ -0,0 +1,68 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.service.RulesService;
+import pl.put.poznan.rulestudio.service.UnionsService;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleSetCacheTest {
+
+    private static Supplier<RuleSetWithCharacteristics> induction(InformationTable informationTable, AtomicInteger inductions) {
+        return () -> {
+            inductions.incrementAndGet();
+            return RulesService.calculateRuleSetWithCharacteristics(UnionsService.calculateUnionsWithSingleLimitingDecision(informationTable, UnionType.MONOTONIC, 0.0), RuleType.CERTAIN);
+        };
+    }
+
+    @Test
+    public void reusesRulesOfDataWithSameHash() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), attributes, 60, 0.0);
+        InformationTable sameInformationTable = RandomInformationTables.create(new Random(0), attributes, 60, 0.0);
+        RuleSetCache ruleSetCache = new RuleSetCache(4, 0.125);
+        AtomicInteger inductions = new AtomicInteger();
+
+        RuleSetWithCharacteristics ruleSet = ruleSetCache.getOrCalculate(informationTable, UnionType.MONOTONIC, 0.0, RuleType.CERTAIN, induction(informationTable, inductions));
+        assertSame(ruleSet, ruleSetCache.getOrCalculate(sameInformationTable, UnionType.MONOTONIC, 0.0, RuleType.CERTAIN, induction(sameInformationTable, inductions)));
+        assertNotSame(ruleSet, ruleSetCache.getOrCalculate(informationTable, UnionType.STANDARD, 0.0, RuleType.CERTAIN, induction(informationTable, inductions)));
+
+        assertEquals(2, inductions.get());
+        CacheStatistics statistics = ruleSetCache.getStatistics();
+        assertEquals(2, statistics.getNumberOfEntries());
+        assertEquals(1, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertTrue(statistics.getWeight() > 0);
+    }
+
+    @Test
+    public void evictsRulesOverMaximalNumber() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        RuleSetCache ruleSetCache = new RuleSetCache(2, 0.125);
+        AtomicInteger inductions = new AtomicInteger();
+
+        InformationTable[] informationTables = new InformationTable[3];
+        for(int i = 0; i < informationTables.length; i++) {
+            informationTables[i] = RandomInformationTables.create(new Random(i), attributes, 40, 0.0);
+            ruleSetCache.getOrCalculate(informationTables[i], UnionType.MONOTONIC, 0.0, RuleType.CERTAIN, induction(informationTables[i], inductions));
+        }
+        ruleSetCache.getOrCalculate(informationTables[0], UnionType.MONOTONIC, 0.0, RuleType.CERTAIN, induction(informationTables[0], inductions));
+
+        assertEquals(4, inductions.get());
+        CacheStatistics statistics = ruleSetCache.getStatistics();
+        assertEquals(2, statistics.getNumberOfEntries());
+        assertEquals(Long.valueOf(2), statistics.getEvictions());
+    }
+}
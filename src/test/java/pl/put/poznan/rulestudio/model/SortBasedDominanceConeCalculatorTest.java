@@ -0,0 +1,75 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.junit.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.dominance.DominanceConeCalculator;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortBasedDominanceConeCalculatorTest {
+
+    private static final int NUMBER_OF_TABLES = 20;
+
+    private static void checkRandomTables(boolean withNominalAttribute, int numberOfObjects, double missingValueProbability) {
+        Attribute[] attributes = RandomInformationTables.createAttributes(withNominalAttribute);
+        for(int seed = 0; seed < NUMBER_OF_TABLES; seed++) {
+            InformationTable informationTable = RandomInformationTables.create(new Random(seed), attributes, numberOfObjects, missingValueProbability);
+
+            DominanceConeMatrix positiveDCones = new DominanceConeMatrix(numberOfObjects);
+            DominanceConeMatrix negativeDCones = new DominanceConeMatrix(numberOfObjects);
+            SortBasedDominanceConeCalculator.calculateDCones(informationTable, positiveDCones, negativeDCones);
+            DominanceConeMatrix positiveInvDCones = positiveDCones.transpose();
+            DominanceConeMatrix negativeInvDCones = negativeDCones.transpose();
+
+            for(int x = 0; x < numberOfObjects; x++) {
+                String message = "Seed " + seed + ", object " + x;
+                assertArrayEquals(message, DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, informationTable).toIntArray(), positiveDCones.toIntArray(x));
+                assertArrayEquals(message, DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, informationTable).toIntArray(), negativeDCones.toIntArray(x));
+                assertArrayEquals(message, DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(x, informationTable).toIntArray(), positiveInvDCones.toIntArray(x));
+                assertArrayEquals(message, DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(x, informationTable).toIntArray(), negativeInvDCones.toIntArray(x));
+
+                assertEquals(message, positiveDCones.toIntArray(x).length, positiveDCones.cardinality(x));
+                assertTrue(message, positiveDCones.contains(x, x));
+                assertTrue(message, negativeDCones.contains(x, x));
+            }
+        }
+    }
+
+    @Test
+    public void calculatesSameConesForKnownValues() {
+        checkRandomTables(true, 70, 0.0);
+    }
+
+    @Test
+    public void calculatesSameConesForMissingValues() {
+        checkRandomTables(true, 70, 0.15);
+    }
+
+    @Test
+    public void calculatesSameConesForOrderedAttributes() {
+        checkRandomTables(false, 130, 0.05);
+    }
+
+    @Test
+    public void transposesTwiceToSameCones() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(true);
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), attributes, 150, 0.0);
+        DominanceConeMatrix positiveDCones = new DominanceConeMatrix(150);
+        DominanceConeMatrix negativeDCones = new DominanceConeMatrix(150);
+        SortBasedDominanceConeCalculator.calculateDCones(informationTable, positiveDCones, negativeDCones);
+
+        DominanceConeMatrix transposedTwice = positiveDCones.transpose().transpose();
+        for(int x = 0; x < 150; x++) {
+            assertArrayEquals(positiveDCones.toIntArray(x), transposedTwice.toIntArray(x));
+            for(int y = 0; y < 150; y++) {
+                //for known values y is at least as good as x, iff x is at most as good as y
+                assertEquals(positiveDCones.contains(x, y), negativeDCones.contains(y, x));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package pl.put.poznan.rulestudio.service;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+import org.rulelearn.approximations.Unions;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.model.CacheStatistics;
+import pl.put.poznan.rulestudio.model.Classification;
+import pl.put.poznan.rulestudio.model.ClassifierCache;
+import pl.put.poznan.rulestudio.model.DecisionDomainCache;
+import pl.put.poznan.rulestudio.model.IndicesOfCoveringRules;
+import pl.put.poznan.rulestudio.model.RandomInformationTables;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ClassificationServiceTest {
+
+    private static final int NUMBER_OF_TABLES = 10;
+
+    private static RuleSetWithCharacteristics induceRules(InformationTable informationTable) {
+        Unions unions = UnionsService.calculateUnionsWithSingleLimitingDecision(informationTable, UnionType.MONOTONIC, 0.1);
+        return RulesService.calculateRuleSetWithCharacteristics(unions, RuleType.CERTAIN);
+    }
+
+    private static IntList[] findCoveringRules(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable informationTable) {
+        IntList[] coveringRules = new IntList[informationTable.getNumberOfObjects()];
+        for(int objectIndex = 0; objectIndex < coveringRules.length; objectIndex++) {
+            coveringRules[objectIndex] = new IntArrayList();
+            for(int ruleIndex = 0; ruleIndex < ruleSetWithCharacteristics.size(); ruleIndex++) {
+                if(ruleSetWithCharacteristics.getRule(ruleIndex).covers(objectIndex, informationTable)) {
+                    coveringRules[objectIndex].add(ruleIndex);
+                }
+            }
+        }
+        return coveringRules;
+    }
+
+    private static void assertSameIndices(IntList[] expected, IndicesOfCoveringRules actual) {
+        assertEquals(expected.length, actual.getNumberOfObjects());
+        for(int objectIndex = 0; objectIndex < expected.length; objectIndex++) {
+            assertArrayEquals("Object " + objectIndex, expected[objectIndex].toIntArray(), actual.getIndices(objectIndex));
+        }
+    }
+
+    private static void assertSameClassification(Classification expected, Classification actual) {
+        assertEquals(expected.getClassificationResults().length, actual.getClassificationResults().length);
+        for(int objectIndex = 0; objectIndex < expected.getClassificationResults().length; objectIndex++) {
+            assertEquals("Object " + objectIndex, expected.getClassificationResults()[objectIndex].getSuggestedDecision(), actual.getClassificationResults()[objectIndex].getSuggestedDecision());
+            assertArrayEquals("Object " + objectIndex, expected.getIndicesOfCoveringRules().getIndices(objectIndex), actual.getIndicesOfCoveringRules().getIndices(objectIndex));
+        }
+    }
+
+    @Test
+    public void invertsStoredCoverageOfLearningData() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        for(int seed = 0; seed < NUMBER_OF_TABLES; seed++) {
+            InformationTable learningInformationTable = RandomInformationTables.create(new Random(seed), attributes, 120, 0.1);
+            RuleSetWithCharacteristics ruleSetWithCharacteristics = induceRules(learningInformationTable);
+
+            IndicesOfCoveringRules indicesOfCoveringRules = ClassificationService.getStoredIndicesOfCoveringRules(ruleSetWithCharacteristics, learningInformationTable, learningInformationTable);
+            assertNotNull(indicesOfCoveringRules);
+            assertSameIndices(findCoveringRules(ruleSetWithCharacteristics, learningInformationTable), indicesOfCoveringRules);
+        }
+    }
+
+    @Test
+    public void doesNotReuseStoredCoverageForOtherData() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        Random random = new Random(0);
+        InformationTable learningInformationTable = RandomInformationTables.create(random, attributes, 120, 0.1);
+        InformationTable testingInformationTable = RandomInformationTables.create(random, attributes, 50, 0.1);
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = induceRules(learningInformationTable);
+
+        assertNull(ClassificationService.getStoredIndicesOfCoveringRules(ruleSetWithCharacteristics, learningInformationTable, testingInformationTable));
+    }
+
+    @Test
+    public void reusesCachedClassifierAndRuleConditionIndex() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        Random random = new Random(0);
+        InformationTable learningInformationTable = RandomInformationTables.create(random, attributes, 120, 0.1);
+        InformationTable testingInformationTable = RandomInformationTables.create(random, attributes, 50, 0.1);
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = induceRules(learningInformationTable);
+        Decision[] orderOfDecisions = ClassificationService.getOrderOfDecisions(ruleSetWithCharacteristics, learningInformationTable, new DecisionDomainCache(4));
+        ClassifierType typeOfClassifier = ClassifierType.SCORING_RULE_CLASSIFIER_SCORE;
+        DefaultClassificationResultType typeOfDefaultClassificationResult = DefaultClassificationResultType.MAJORITY_DECISION_CLASS;
+
+        //every rule set counts as large, so coverage of objects is always taken from stored coverage or from the rule condition index
+        ClassificationService.setRuleIndexThreshold(1);
+        try {
+            ClassifierCache classifierCache = new ClassifierCache(4);
+            Classification testingClassification = ClassificationService.calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, false, classifierCache);
+            Classification learningClassification = ClassificationService.calculateClassification(learningInformationTable, learningInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, false, classifierCache);
+            Classification repeatedTestingClassification = ClassificationService.calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, false, classifierCache);
+
+            CacheStatistics classifierStatistics = classifierCache.getStatistics();
+            assertEquals(1, classifierStatistics.getMisses());
+            assertEquals(2, classifierStatistics.getHits());
+            CacheStatistics sharedCoverageStatistics = classifierCache.getSharedCoverageStatistics();
+            assertEquals(1, sharedCoverageStatistics.getMisses());
+            assertEquals(2, sharedCoverageStatistics.getHits());
+
+            assertSameClassification(testingClassification, repeatedTestingClassification);
+            ClassificationService.setRuleIndexThreshold(Integer.MAX_VALUE);
+            assertSameClassification(ClassificationService.calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, false), testingClassification);
+            assertSameClassification(ClassificationService.calculateClassification(learningInformationTable, learningInformationTable, typeOfClassifier, typeOfDefaultClassificationResult, ruleSetWithCharacteristics, orderOfDecisions, false), learningClassification);
+        } finally {
+            ClassificationService.setRuleIndexThreshold(128);
+        }
+    }
+
+    @Test
+    public void classifiesSameInParallelAndSequentially() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        ClassificationService.setParallelClassificationThreshold(16);
+        CalculationsExecutor.setParallelism(4);
+        try {
+            for(int seed = 0; seed < NUMBER_OF_TABLES; seed++) {
+                Random random = new Random(seed);
+                InformationTable learningInformationTable = RandomInformationTables.create(random, attributes, 120, 0.1);
+                InformationTable testingInformationTable = RandomInformationTables.create(random, attributes, 300, 0.1);
+                RuleSetWithCharacteristics ruleSetWithCharacteristics = induceRules(learningInformationTable);
+                Decision[] orderOfDecisions = ClassificationService.getOrderOfDecisions(ruleSetWithCharacteristics, learningInformationTable, new DecisionDomainCache(4));
+
+                for(ClassifierType typeOfClassifier : ClassifierType.values()) {
+                    Classification sequentialClassification = ClassificationService.calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, ruleSetWithCharacteristics, orderOfDecisions, false);
+                    Classification parallelClassification = ClassificationService.calculateClassification(learningInformationTable, testingInformationTable, typeOfClassifier, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, ruleSetWithCharacteristics, orderOfDecisions, true);
+                    assertSameClassification(sequentialClassification, parallelClassification);
+                }
+            }
+        } finally {
+            ClassificationService.setParallelClassificationThreshold(1024);
+            CalculationsExecutor.setParallelism(0);
+        }
+    }
+}
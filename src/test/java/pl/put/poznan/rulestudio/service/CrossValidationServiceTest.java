@@ -0,0 +1,227 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rulelearn.classification.ClassificationResult;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.Decision;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.CrossValidationRetentionType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.exception.NoDataException;
+import pl.put.poznan.rulestudio.model.CrossValidation;
+import pl.put.poznan.rulestudio.model.CrossValidationCheckpoints;
+import pl.put.poznan.rulestudio.model.CrossValidationSingleFold;
+import pl.put.poznan.rulestudio.model.DecisionDomainCache;
+import pl.put.poznan.rulestudio.model.Project;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.model.RandomInformationTables;
+import pl.put.poznan.rulestudio.model.RepeatedCrossValidation;
+import pl.put.poznan.rulestudio.model.RuleSetCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CrossValidationServiceTest {
+
+    private static final int NUMBER_OF_FOLDS = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void restoreParallelism() {
+        CalculationsExecutor.setParallelism(0);
+    }
+
+    //rules aren't cached, so each run induces rules of all folds by itself
+    private static CrossValidationService createCrossValidationService(int maxFoldsInParallel) {
+        CrossValidationService crossValidationService = new CrossValidationService();
+        crossValidationService.ruleSetCache = new RuleSetCache(0, 0.125);
+        crossValidationService.decisionDomainCache = new DecisionDomainCache(4);
+        crossValidationService.crossValidationCheckpoints = new CrossValidationCheckpoints("", 72);
+        crossValidationService.maxFoldsInParallel = maxFoldsInParallel;
+        return crossValidationService;
+    }
+
+    private static CrossValidationService createCrossValidationService(Project project) {
+        CrossValidationService crossValidationService = createCrossValidationService(0);
+        crossValidationService.projectsContainer = new ProjectsContainer();
+        crossValidationService.projectsContainer.addProject(project);
+        return crossValidationService;
+    }
+
+    private static CrossValidation putCrossValidation(CrossValidationService crossValidationService, Project project, CrossValidationRetentionType retention) {
+        return crossValidationService.putCrossValidation(project.getId(), UnionType.MONOTONIC, 0.0, RuleType.CERTAIN,
+                ClassifierType.SCORING_RULE_CLASSIFIER_HYBRID, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, NUMBER_OF_FOLDS, 0L, retention);
+    }
+
+    private static CrossValidation calculateCrossValidation(InformationTable informationTable, int parallelism, long seed) {
+        CalculationsExecutor.setParallelism(parallelism);
+        return createCrossValidationService(parallelism).calculateCrossValidation(informationTable, UnionType.MONOTONIC, 0.0, RuleType.CERTAIN,
+                ClassifierType.SCORING_RULE_CLASSIFIER_HYBRID, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, NUMBER_OF_FOLDS, seed, CrossValidationRetentionType.FULL);
+    }
+
+    private static void assertSameMatrix(String message, Decision[] orderOfDecisions, OrdinalMisclassificationMatrix expected, OrdinalMisclassificationMatrix actual) {
+        assertEquals(message, expected.getAccuracy(), actual.getAccuracy(), 0.0);
+        for(Decision originalDecision : orderOfDecisions) {
+            for(Decision assignedDecision : orderOfDecisions) {
+                assertEquals(message, expected.getValue(originalDecision, assignedDecision), actual.getValue(originalDecision, assignedDecision), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void calculatesSameFoldsInParallelAndSequentially() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        for(long seed = 0; seed < 3; seed++) {
+            InformationTable informationTable = RandomInformationTables.create(new Random(seed), attributes, 150, 0.1);
+
+            CrossValidation sequentialCrossValidation = calculateCrossValidation(informationTable, 1, seed);
+            CrossValidation parallelCrossValidation = calculateCrossValidation(informationTable, 4, seed);
+
+            Decision[] orderOfDecisions = sequentialCrossValidation.getOrderOfDecisions();
+            assertArrayEquals(orderOfDecisions, parallelCrossValidation.getOrderOfDecisions());
+            for(int foldIndex = 0; foldIndex < NUMBER_OF_FOLDS; foldIndex++) {
+                CrossValidationSingleFold sequentialFold = sequentialCrossValidation.getCrossValidationSingleFolds()[foldIndex];
+                CrossValidationSingleFold parallelFold = parallelCrossValidation.getCrossValidationSingleFolds()[foldIndex];
+                String message = "Fold " + foldIndex + " of seed " + seed;
+
+                assertArrayEquals(message, sequentialFold.getIndicesOfValidationObjects(), parallelFold.getIndicesOfValidationObjects());
+                assertEquals(message, sequentialFold.getNumberOfRules(), parallelFold.getNumberOfRules());
+                assertSameMatrix(message, orderOfDecisions, sequentialFold.getOrdinalMisclassificationMatrix(), parallelFold.getOrdinalMisclassificationMatrix());
+            }
+            assertSameMatrix("Sum of seed " + seed, orderOfDecisions, sequentialCrossValidation.getSumOrdinalMisclassificationMatrix(), parallelCrossValidation.getSumOrdinalMisclassificationMatrix());
+        }
+    }
+
+    @Test
+    public void rebuildsDetailsOfSummarizedFold() {
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), RandomInformationTables.createAttributes(false), 150, 0.1);
+        Project project = new Project("cross-validation", informationTable);
+        CrossValidationService crossValidationService = createCrossValidationService(project);
+
+        CrossValidation fullCrossValidation = putCrossValidation(crossValidationService, project, CrossValidationRetentionType.FULL);
+        CrossValidation summarizedCrossValidation = putCrossValidation(crossValidationService, project, CrossValidationRetentionType.SUMMARY);
+        assertNull(summarizedCrossValidation.getInformationTable());
+
+        int foldIndex = 2;
+        CrossValidationSingleFold fullFold = fullCrossValidation.getCrossValidationSingleFolds()[foldIndex];
+        assertFalse(summarizedCrossValidation.getCrossValidationSingleFolds()[foldIndex].hasDetails());
+
+        CrossValidationSingleFold rebuiltFold = crossValidationService.getCrossValidationSingleFold(project.getId(), foldIndex);
+        assertTrue(rebuiltFold.hasDetails());
+        assertArrayEquals(fullFold.getIndicesOfValidationObjects(), rebuiltFold.getIndicesOfValidationObjects());
+        assertEquals(fullFold.getNumberOfRules(), rebuiltFold.getNumberOfRules());
+        assertSameMatrix("Rebuilt fold", fullCrossValidation.getOrderOfDecisions(), fullFold.getOrdinalMisclassificationMatrix(), rebuiltFold.getOrdinalMisclassificationMatrix());
+
+        ClassificationResult[] fullClassificationResults = fullFold.getClassificationValidationTable().getClassificationResults();
+        ClassificationResult[] rebuiltClassificationResults = rebuiltFold.getClassificationValidationTable().getClassificationResults();
+        assertEquals(fullClassificationResults.length, rebuiltClassificationResults.length);
+        for(int i = 0; i < fullClassificationResults.length; i++) {
+            assertEquals("Object " + i, fullClassificationResults[i].getSuggestedDecision(), rebuiltClassificationResults[i].getSuggestedDecision());
+        }
+
+        //rebuilt details aren't stored, so cross-validation in project stays summarized
+        assertFalse(project.getCrossValidation().getCrossValidationSingleFolds()[foldIndex].hasDetails());
+    }
+
+    @Test(expected = NoDataException.class)
+    public void doesNotRebuildFoldOfChangedData() {
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        Project project = new Project("cross-validation", RandomInformationTables.create(new Random(0), attributes, 150, 0.1));
+        CrossValidationService crossValidationService = createCrossValidationService(project);
+        putCrossValidation(crossValidationService, project, CrossValidationRetentionType.SUMMARY);
+
+        project.setInformationTable(RandomInformationTables.create(new Random(1), attributes, 150, 0.1));
+        crossValidationService.getCrossValidationSingleFold(project.getId(), 0);
+    }
+
+    @Test
+    public void summarizesRepeatsLikeSingleCrossValidations() {
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), RandomInformationTables.createAttributes(false), 150, 0.1);
+        Project project = new Project("cross-validation", informationTable);
+        CrossValidationService crossValidationService = createCrossValidationService(project);
+
+        long[] seeds = {3L, 5L, 8L};
+        RepeatedCrossValidation repeatedCrossValidation = crossValidationService.putRepeatedCrossValidation(project.getId(), UnionType.MONOTONIC, 0.0, RuleType.CERTAIN,
+                ClassifierType.SCORING_RULE_CLASSIFIER_HYBRID, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, NUMBER_OF_FOLDS, Arrays.asList(3L, 5L, 8L), null, null);
+        assertArrayEquals(seeds, repeatedCrossValidation.getSeeds());
+
+        double[] accuracy = new double[seeds.length];
+        double[] numberOfIncorrectAssignments = new double[seeds.length];
+        for(int repeat = 0; repeat < seeds.length; repeat++) {
+            CrossValidation crossValidation = calculateCrossValidation(informationTable, 0, seeds[repeat]);
+            accuracy[repeat] = crossValidation.getSumOrdinalMisclassificationMatrix().getAccuracy();
+            numberOfIncorrectAssignments[repeat] = crossValidation.getSumOrdinalMisclassificationMatrix().getNumberOfIncorrectAssignments();
+        }
+
+        RepeatedCrossValidation.Statistic accuracyStatistic = repeatedCrossValidation.getStatistics().get("accuracy");
+        assertArrayEquals(accuracy, accuracyStatistic.getValues(), 1e-12);
+        assertEquals(new RepeatedCrossValidation.Statistic(accuracy).getMean(), accuracyStatistic.getMean(), 1e-12);
+        assertEquals(new RepeatedCrossValidation.Statistic(accuracy).getStandardDeviation(), accuracyStatistic.getStandardDeviation(), 1e-12);
+        assertArrayEquals(numberOfIncorrectAssignments, repeatedCrossValidation.getStatistics().get("numberOfIncorrectAssignments").getValues(), 0.0);
+    }
+
+    @Test
+    public void resumesFromSavedFolds() {
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), RandomInformationTables.createAttributes(false), 150, 0.1);
+        CrossValidation crossValidation = calculateCrossValidation(informationTable, 0, 0L);
+
+        Path directory = temporaryFolder.getRoot().toPath().resolve("checkpoints");
+        AtomicInteger loadedFolds = new AtomicInteger();
+        CrossValidationCheckpoints crossValidationCheckpoints = new CrossValidationCheckpoints(directory.toString(), 72) {
+            @Override
+            public CrossValidationSingleFold load(String key, int foldIndex) {
+                CrossValidationSingleFold crossValidationSingleFold = super.load(key, foldIndex);
+                if(crossValidationSingleFold != null) {
+                    loadedFolds.incrementAndGet();
+                }
+                return crossValidationSingleFold;
+            }
+        };
+
+        //folds saved before the interrupted cross-validation was stopped
+        String key = CrossValidationCheckpoints.getKey(informationTable.getHash(), UnionType.MONOTONIC, 0.0, RuleType.CERTAIN,
+                ClassifierType.SCORING_RULE_CLASSIFIER_HYBRID, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, NUMBER_OF_FOLDS, 0L, CrossValidationRetentionType.FULL);
+        crossValidationCheckpoints.save(key, 0, crossValidation.getCrossValidationSingleFolds()[0]);
+        crossValidationCheckpoints.save(key, 3, crossValidation.getCrossValidationSingleFolds()[3]);
+        assertTrue(Files.isDirectory(directory.resolve(key)));
+
+        CrossValidationService crossValidationService = createCrossValidationService(0);
+        crossValidationService.crossValidationCheckpoints = crossValidationCheckpoints;
+        CrossValidation resumedCrossValidation = crossValidationService.calculateCrossValidation(informationTable, UnionType.MONOTONIC, 0.0, RuleType.CERTAIN,
+                ClassifierType.SCORING_RULE_CLASSIFIER_HYBRID, DefaultClassificationResultType.MAJORITY_DECISION_CLASS, NUMBER_OF_FOLDS, 0L, CrossValidationRetentionType.FULL);
+
+        assertEquals(2, loadedFolds.get());
+        Decision[] orderOfDecisions = crossValidation.getOrderOfDecisions();
+        for(int foldIndex = 0; foldIndex < NUMBER_OF_FOLDS; foldIndex++) {
+            CrossValidationSingleFold fold = crossValidation.getCrossValidationSingleFolds()[foldIndex];
+            CrossValidationSingleFold resumedFold = resumedCrossValidation.getCrossValidationSingleFolds()[foldIndex];
+            String message = "Fold " + foldIndex;
+
+            assertArrayEquals(message, fold.getIndicesOfValidationObjects(), resumedFold.getIndicesOfValidationObjects());
+            assertEquals(message, fold.getNumberOfRules(), resumedFold.getNumberOfRules());
+            assertSameMatrix(message, orderOfDecisions, fold.getOrdinalMisclassificationMatrix(), resumedFold.getOrdinalMisclassificationMatrix());
+        }
+        assertSameMatrix("Sum", orderOfDecisions, crossValidation.getSumOrdinalMisclassificationMatrix(), resumedCrossValidation.getSumOrdinalMisclassificationMatrix());
+
+        //checkpoints of a finished cross-validation are removed
+        assertFalse(Files.exists(directory.resolve(key)));
+    }
+}
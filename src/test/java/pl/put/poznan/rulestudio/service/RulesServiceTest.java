@@ -0,0 +1,137 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.junit.After;
+import org.junit.Test;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.model.Project;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.model.RandomInformationTables;
+import pl.put.poznan.rulestudio.model.RulesWithHttpParameters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RulesServiceTest {
+
+    @After
+    public void restoreParallelism() {
+        CalculationsExecutor.setParallelism(0);
+    }
+
+    private static RuleSetWithCharacteristics induceRules(InformationTable informationTable, RuleType typeOfRules, boolean parallelInduction) {
+        return RulesService.calculateRuleSetWithCharacteristics(UnionsService.calculateUnionsWithSingleLimitingDecision(informationTable, UnionType.MONOTONIC, 0.1), typeOfRules, parallelInduction, null);
+    }
+
+    @Test
+    public void inducesSameRulesInParallelAndSequentially() {
+        CalculationsExecutor.setParallelism(4);
+        Attribute[] attributes = RandomInformationTables.createAttributes(false);
+        for(int seed = 0; seed < 5; seed++) {
+            InformationTable informationTable = RandomInformationTables.create(new Random(seed), attributes, 100, 0.0);
+
+            RuleSetWithCharacteristics sequentialRules = induceRules(informationTable, RuleType.BOTH, false);
+            RuleSetWithCharacteristics parallelRules = induceRules(informationTable, RuleType.BOTH, true);
+
+            assertEquals(sequentialRules.size(), parallelRules.size());
+            for(int ruleIndex = 0; ruleIndex < sequentialRules.size(); ruleIndex++) {
+                String message = "Rule " + ruleIndex + " of seed " + seed;
+                assertEquals(message, sequentialRules.getRule(ruleIndex).toString(), parallelRules.getRule(ruleIndex).toString());
+                assertEquals(message, sequentialRules.getRuleCharacteristics(ruleIndex).getSupport(), parallelRules.getRuleCharacteristics(ruleIndex).getSupport());
+            }
+            assertEquals(sequentialRules.getLearningInformationTableHash(), parallelRules.getLearningInformationTableHash());
+        }
+    }
+
+    private static RulesService createRulesService(Project project) {
+        RulesService rulesService = new RulesService();
+        rulesService.projectsContainer = new ProjectsContainer();
+        rulesService.projectsContainer.addProject(project);
+        return rulesService;
+    }
+
+    private static Project createProjectWithRules() {
+        InformationTable informationTable = RandomInformationTables.create(new Random(0), RandomInformationTables.createAttributes(false), 150, 0.1);
+        Project project = new Project("rules", informationTable);
+        project.setRules(new RulesWithHttpParameters(induceRules(informationTable, RuleType.CERTAIN, false), UnionType.MONOTONIC, 0.1, RuleType.CERTAIN));
+        return project;
+    }
+
+    @Test
+    public void pagesOrderedRules() {
+        Project project = createProjectWithRules();
+        RulesService rulesService = createRulesService(project);
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = project.getRules().getRuleSet();
+
+        int[] orderedIndices = rulesService.getRules(project.getId(), OrderByRuleCharacteristic.SUPPORT, true, 0, null, null, null).getRuleIndices();
+        assertEquals(ruleSetWithCharacteristics.size(), orderedIndices.length);
+        for(int i = 1; i < orderedIndices.length; i++) {
+            assertTrue(ruleSetWithCharacteristics.getRuleCharacteristics(orderedIndices[i - 1]).getSupport() >= ruleSetWithCharacteristics.getRuleCharacteristics(orderedIndices[i]).getSupport());
+        }
+
+        RulesWithHttpParameters page = rulesService.getRules(project.getId(), OrderByRuleCharacteristic.SUPPORT, true, 2, 3, null, null);
+        assertArrayEquals(Arrays.copyOfRange(orderedIndices, 2, 5), page.getRuleIndices());
+        assertEquals(Integer.valueOf(ruleSetWithCharacteristics.size()), page.getNumberOfSelectedRules());
+
+        RulesWithHttpParameters pageAfterEnd = rulesService.getRules(project.getId(), OrderByRuleCharacteristic.SUPPORT, true, ruleSetWithCharacteristics.size() + 1, 3, null, null);
+        assertEquals(0, pageAfterEnd.getRuleIndices().length);
+    }
+
+    @Test
+    public void filtersRulesByCharacteristics() {
+        Project project = createProjectWithRules();
+        RulesService rulesService = createRulesService(project);
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = project.getRules().getRuleSet();
+
+        List<String> filters = Arrays.asList("confidence>=0.95", "support > 2");
+        RulesWithHttpParameters rules = rulesService.getRules(project.getId(), OrderByRuleCharacteristic.NONE, false, 0, null, filters, null);
+
+        int[] ruleIndices = rules.getRuleIndices();
+        assertEquals(Integer.valueOf(ruleIndices.length), rules.getNumberOfSelectedRules());
+        int selectedRule = 0;
+        for(int ruleIndex = 0; ruleIndex < ruleSetWithCharacteristics.size(); ruleIndex++) {
+            RuleCharacteristics ruleCharacteristics = ruleSetWithCharacteristics.getRuleCharacteristics(ruleIndex);
+            boolean expected = (ruleCharacteristics.getConfidence() >= 0.95) && (ruleCharacteristics.getSupport() > 2);
+            boolean selected = (selectedRule < ruleIndices.length) && (ruleIndices[selectedRule] == ruleIndex);
+            assertEquals("Rule " + ruleIndex, expected, selected);
+            if(selected) {
+                selectedRule++;
+            }
+        }
+        assertEquals(ruleIndices.length, selectedRule);
+    }
+
+    @Test
+    public void keepsAllRulesWithoutSelection() {
+        Project project = createProjectWithRules();
+        RulesWithHttpParameters rules = createRulesService(project).getRules(project.getId(), OrderByRuleCharacteristic.NONE, false, 0, null, Collections.emptyList(), null);
+
+        assertNull(rules.getRuleIndices());
+        assertNull(rules.getNumberOfSelectedRules());
+    }
+
+    @Test(expected = WrongParameterException.class)
+    public void rejectsIncorrectFilter() {
+        Project project = createProjectWithRules();
+        createRulesService(project).getRules(project.getId(), OrderByRuleCharacteristic.NONE, false, 0, null, Collections.singletonList("confidence>>0.5"), null);
+    }
+
+    @Test(expected = WrongParameterException.class)
+    public void rejectsNegativeOffset() {
+        Project project = createProjectWithRules();
+        createRulesService(project).getRules(project.getId(), OrderByRuleCharacteristic.NONE, false, -1, null, null, null);
+    }
+}